@@ -0,0 +1,2 @@
+GRANT ALL PRIVILEGES ON `app\_shard%`.* TO 'app'@'%';
+FLUSH PRIVILEGES;
@@ -0,0 +1,52 @@
+package ru.netology.domain.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(Threads.MAX)
+public class CardValidatorBenchmark {
+    private static final int CARDS = 1024;
+
+    private final CardValidator validator = new CardValidator();
+    private final ValidationMessage[] byField = new ValidationMessage[CardValidator.Field.values().length];
+    private Card[] cards;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        cards = new Card[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            cards[i] = i % 2 == 0
+                    ? new Card(DataGenerator.getApprovedNumber(), DataGenerator.getCurrentMonth(),
+                    DataGenerator.getNextYear(), DataGenerator.getValidName(), DataGenerator.getValidCvc())
+                    : new Card(DataGenerator.getShortCardNumber(), DataGenerator.getLastMonth(),
+                    DataGenerator.getLastYear(), DataGenerator.getOnlyName(), DataGenerator.getCvcWithTwoDigits());
+        }
+    }
+
+    @Benchmark
+    public ValidationMessage validate() {
+        return validator.validate(next());
+    }
+
+    @Benchmark
+    public ValidationMessage validateAllFields() {
+        return validator.validate(next(), byField);
+    }
+
+    private Card next() {
+        index = (index + 1) & (CARDS - 1);
+        return cards[index];
+    }
+}
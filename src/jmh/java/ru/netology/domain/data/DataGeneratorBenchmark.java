@@ -0,0 +1,137 @@
+package ru.netology.domain.data;
+
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(Threads.MAX)
+public class DataGeneratorBenchmark {
+
+    @Benchmark
+    public String newFakerPerCall() {
+        Faker faker = new Faker(new Locale("ru"));
+        return faker.name().firstName() + " " + faker.name().lastName();
+    }
+
+    @Benchmark
+    public String getApprovedNumber() {
+        return DataGenerator.getApprovedNumber();
+    }
+
+    @Benchmark
+    public String getDeclinedNumber() {
+        return DataGenerator.getDeclinedNumber();
+    }
+
+    @Benchmark
+    public String getInvalidCardNumber() {
+        return DataGenerator.getInvalidCardNumber();
+    }
+
+    @Benchmark
+    public String getShortCardNumber() {
+        return DataGenerator.getShortCardNumber();
+    }
+
+    @Benchmark
+    public String getCurrentMonth() {
+        return DataGenerator.getCurrentMonth();
+    }
+
+    @Benchmark
+    public String getLastMonth() {
+        return DataGenerator.getLastMonth();
+    }
+
+    @Benchmark
+    public String getCurrentYear() {
+        return DataGenerator.getCurrentYear();
+    }
+
+    @Benchmark
+    public String getLastYear() {
+        return DataGenerator.getLastYear();
+    }
+
+    @Benchmark
+    public String getNextYear() {
+        return DataGenerator.getNextYear();
+    }
+
+    @Benchmark
+    public String getValidName() {
+        return DataGenerator.getValidName();
+    }
+
+    @Benchmark
+    public String getValidNameInLatinLetters() {
+        return DataGenerator.getValidNameInLatinLetters();
+    }
+
+    @Benchmark
+    public String getOnlyName() {
+        return DataGenerator.getOnlyName();
+    }
+
+    @Benchmark
+    public String getOnlyNameInLatin() {
+        return DataGenerator.getOnlyNameInLatin();
+    }
+
+    @Benchmark
+    public String getOnlyLastname() {
+        return DataGenerator.getOnlyLastname();
+    }
+
+    @Benchmark
+    public String getOnlyLastnameInLatin() {
+        return DataGenerator.getOnlyLastnameInLatin();
+    }
+
+    @Benchmark
+    public String getTooLongName() {
+        return DataGenerator.getTooLongName();
+    }
+
+    @Benchmark
+    public String getNameWithNumbers() {
+        return DataGenerator.getNameWithNumbers();
+    }
+
+    @Benchmark
+    public String getNameWithOneLetter() {
+        return DataGenerator.getNameWithOneLetter();
+    }
+
+    @Benchmark
+    public String getValidCvc() {
+        return DataGenerator.getValidCvc();
+    }
+
+    @Benchmark
+    public String getCvcWithOneDigit() {
+        return DataGenerator.getCvcWithOneDigit();
+    }
+
+    @Benchmark
+    public String getCvcWithTwoDigits() {
+        return DataGenerator.getCvcWithTwoDigits();
+    }
+
+    @Benchmark
+    public Card approvedCard() {
+        return new Card(DataGenerator.getApprovedNumber(), DataGenerator.getCurrentMonth(), DataGenerator.getNextYear(),
+                DataGenerator.getValidName(), DataGenerator.getValidCvc());
+    }
+}
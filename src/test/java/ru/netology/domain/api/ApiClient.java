@@ -0,0 +1,66 @@
+package ru.netology.domain.api;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.timing.StepTimings;
+
+import static io.restassured.RestAssured.given;
+
+public class ApiClient {
+    private static final RequestSpecification requestSpec = new RequestSpecBuilder()
+            .setBaseUri(System.getProperty("sut.url", "http://localhost:8080"))
+            .setBasePath("/api/v1")
+            .setAccept(ContentType.JSON)
+            .setContentType(ContentType.JSON)
+            .build();
+
+    private ApiClient() {
+    }
+
+    public static Response pay(Card card) {
+        long start = StepTimings.start();
+        try {
+            return given()
+                    .spec(requestSpec)
+                    .body(PurchaseRequest.from(card))
+                    .when()
+                    .post("/pay");
+        } finally {
+            StepTimings.record("api request", start);
+        }
+    }
+
+    public static Response credit(Card card) {
+        long start = StepTimings.start();
+        try {
+            return given()
+                    .spec(requestSpec)
+                    .body(PurchaseRequest.from(card))
+                    .when()
+                    .post("/credit");
+        } finally {
+            StepTimings.record("api request", start);
+        }
+    }
+
+    public static String getPaymentStatus(Card card) {
+        return pay(card)
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(PurchaseResponse.class)
+                .getStatus();
+    }
+
+    public static String getCreditStatus(Card card) {
+        return credit(card)
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(PurchaseResponse.class)
+                .getStatus();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.netology.domain.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.netology.domain.data.Card;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseRequest {
+    private String number;
+    private String year;
+    private String month;
+    private String holder;
+    private String cvc;
+
+    public static PurchaseRequest from(Card card) {
+        return new PurchaseRequest(card.getNumber(), card.getYear(), card.getMonth(), card.getHolderName(), card.getCvc());
+    }
+}
@@ -0,0 +1,12 @@
+package ru.netology.domain.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseResponse {
+    private String status;
+}
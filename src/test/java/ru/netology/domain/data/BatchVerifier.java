@@ -0,0 +1,158 @@
+package ru.netology.domain.data;
+
+import ru.netology.domain.timing.StepTimings;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class BatchVerifier {
+    public enum Kind {
+        PAYMENT,
+        CREDIT
+    }
+
+    private final Timestamp since;
+    private final Map<String, Expectation> byOrder = new LinkedHashMap<>();
+    private final Map<String, Integer> anonymous = new TreeMap<>();
+
+    private static class Expectation {
+        private final Kind kind;
+        private final String status;
+
+        private Expectation(Kind kind, String status) {
+            this.kind = kind;
+            this.status = status;
+        }
+    }
+
+    public static class Report {
+        private final List<String> mismatches = new ArrayList<>();
+        private final List<String> missing = new ArrayList<>();
+        private final List<String> orphanedOrders = new ArrayList<>();
+        private final List<String> rowsWithoutOrder = new ArrayList<>();
+        private int checkedOrders;
+
+        public List<String> getMismatches() {
+            return mismatches;
+        }
+
+        public List<String> getMissing() {
+            return missing;
+        }
+
+        public List<String> getOrphanedOrders() {
+            return orphanedOrders;
+        }
+
+        public List<String> getRowsWithoutOrder() {
+            return rowsWithoutOrder;
+        }
+
+        public int getCheckedOrders() {
+            return checkedOrders;
+        }
+
+        public boolean isOk() {
+            return mismatches.isEmpty() && missing.isEmpty() && orphanedOrders.isEmpty() && rowsWithoutOrder.isEmpty();
+        }
+
+        public void assertOk() {
+            if (!isOk()) {
+                throw new AssertionError(toString());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Checked " + checkedOrders + " orders: mismatches=" + mismatches + ", missing=" + missing
+                    + ", orphaned orders=" + orphanedOrders + ", rows without order=" + rowsWithoutOrder;
+        }
+    }
+
+    BatchVerifier(Timestamp since) {
+        this.since = since;
+    }
+
+    public BatchVerifier expectPayment(String status) {
+        return expect(Kind.PAYMENT, status);
+    }
+
+    public BatchVerifier expectCredit(String status) {
+        return expect(Kind.CREDIT, status);
+    }
+
+    public synchronized BatchVerifier expect(Kind kind, String status) {
+        anonymous.merge(kind + " " + status, 1, Integer::sum);
+        return this;
+    }
+
+    public synchronized BatchVerifier expectOrder(String orderId, Kind kind, String status) {
+        byOrder.put(orderId, new Expectation(kind, status));
+        return this;
+    }
+
+    public synchronized Report verify() throws SQLException {
+        var report = new Report();
+        var dao = DbUtils.getDao();
+        long start = StepTimings.start();
+        try {
+            var actual = new HashMap<String, Integer>();
+            var seen = new HashSet<String>();
+            var orphaned = new HashSet<String>();
+            report.checkedOrders = (int) dao.scanPurchases(since, row -> {
+                var orderId = row.getOrder().getId();
+                if (row.getPayment() == null && row.getCredit() == null) {
+                    report.orphanedOrders.add(orderId);
+                    orphaned.add(orderId);
+                    return;
+                }
+                var kind = row.getPayment() != null ? Kind.PAYMENT : Kind.CREDIT;
+                var status = row.getPayment() != null ? row.getPayment().getStatus() : row.getCredit().getStatus();
+                var expectation = byOrder.get(orderId);
+                if (expectation == null) {
+                    actual.merge(kind + " " + status, 1, Integer::sum);
+                    return;
+                }
+                seen.add(orderId);
+                if (expectation.kind != kind || !expectation.status.equals(status)) {
+                    report.mismatches.add(orderId + ": expected " + expectation.kind + " " + expectation.status
+                            + ", found " + kind + " " + status);
+                }
+            });
+            for (Map.Entry<String, Expectation> entry : byOrder.entrySet()) {
+                if (!seen.contains(entry.getKey()) && !orphaned.contains(entry.getKey())) {
+                    report.missing.add(entry.getKey() + ": " + entry.getValue().kind + " " + entry.getValue().status);
+                }
+            }
+
+            var keys = new TreeSet<>(anonymous.keySet());
+            keys.addAll(actual.keySet());
+            for (String key : keys) {
+                int expected = anonymous.getOrDefault(key, 0);
+                int found = actual.getOrDefault(key, 0);
+                if (found < expected) {
+                    report.missing.add(key + ": expected " + expected + ", found " + found);
+                } else if (found > expected) {
+                    report.mismatches.add(key + ": expected " + expected + ", found " + found);
+                }
+            }
+
+            dao.scanPaymentsWithoutOrder(since, payment ->
+                    report.rowsWithoutOrder.add("payment_entity " + payment.getId() + " " + payment.getStatus()));
+            dao.scanCreditsWithoutOrder(since, credit ->
+                    report.rowsWithoutOrder.add("credit_request_entity " + credit.getId() + " " + credit.getStatus()));
+        } finally {
+            StepTimings.record("db batch verify", start);
+        }
+        System.out.println(report);
+        return report;
+    }
+}
@@ -0,0 +1,276 @@
+package ru.netology.domain.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BulkSeeder {
+    public enum Mode {
+        BATCH,
+        FILE
+    }
+
+    // Both modes store created as UTC wall time: batch inserts through Connector/J with serverTimezone=UTC,
+    // file loads as text that the session (time_zone = '+00:00') reads verbatim.
+    private static final DateTimeFormatter CREATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final String PAYMENT_SQL = "INSERT INTO payment_entity (id, amount, created, status, transaction_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String CREDIT_SQL = "INSERT INTO credit_request_entity (id, bank_id, created, status) VALUES (?, ?, ?, ?)";
+    private static final String ORDER_SQL = "INSERT INTO order_entity (id, created, credit_id, payment_id) VALUES (?, ?, ?, ?)";
+    private static final int AMOUNT = 4_500_000;
+
+    private final String url = DbProfile.current().getUrl();
+    private final String user = DbProfile.current().getUser();
+    private final String password = DbProfile.current().getPassword();
+    private final Mode mode;
+    private final int batchSize;
+    private final double creditShare;
+    private final double approvedShare;
+    private final long from;
+    private final long to;
+    private final Path dir;
+    private final LongAdder inserted = new LongAdder();
+
+    private static class Purchase {
+        private String orderId;
+        private String entityId;
+        private String externalId;
+        private Timestamp created;
+        private String status;
+        private boolean credit;
+    }
+
+    public BulkSeeder(Mode mode, int batchSize, double creditShare, double approvedShare, int days, Path dir) {
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.creditShare = creditShare;
+        this.approvedShare = approvedShare;
+        this.to = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+        this.from = to - TimeUnit.DAYS.toMillis(days);
+        this.dir = dir;
+    }
+
+    public long getInserted() {
+        return inserted.sum();
+    }
+
+    private Connection connect() throws SQLException {
+        var properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("rewriteBatchedStatements", "true");
+        properties.setProperty("useServerPrepStmts", "false");
+        properties.setProperty("allowLoadLocalInfile", Boolean.toString(mode == Mode.FILE));
+        properties.setProperty("serverTimezone", "UTC");
+        var conn = DriverManager.getConnection(url, properties);
+        try (var statement = conn.createStatement()) {
+            statement.execute("SET unique_checks = 0");
+            statement.execute("SET foreign_key_checks = 0");
+            statement.execute("SET time_zone = '+00:00'");
+        }
+        conn.setAutoCommit(false);
+        return conn;
+    }
+
+    private void next(SplittableRandom random, Purchase purchase) {
+        purchase.orderId = uuid(random);
+        purchase.entityId = uuid(random);
+        purchase.externalId = uuid(random);
+        purchase.created = new Timestamp((from + (long) (random.nextDouble() * (to - from))) / 1000 * 1000);
+        purchase.status = random.nextDouble() < approvedShare ? "APPROVED" : "DECLINED";
+        purchase.credit = random.nextDouble() < creditShare;
+    }
+
+    private static String uuid(SplittableRandom random) {
+        long most = random.nextLong() & ~0xF000L | 0x4000L;
+        long least = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    public void seed(long orders, int threads, long seed) throws Exception {
+        var root = new SplittableRandom(seed);
+        var executor = Executors.newFixedThreadPool(threads);
+        var results = new ArrayList<Future<Void>>();
+        for (int worker = 0; worker < threads; worker++) {
+            long count = orders / threads + (worker < orders % threads ? 1 : 0);
+            var random = root.split();
+            int workerIndex = worker;
+            results.add(executor.submit(() -> {
+                if (mode == Mode.FILE) {
+                    seedWithFile(random, count, workerIndex);
+                } else {
+                    seedWithBatches(random, count);
+                }
+                return null;
+            }));
+        }
+        executor.shutdown();
+        try {
+            for (var result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seedWithBatches(SplittableRandom random, long count) throws SQLException {
+        var purchase = new Purchase();
+        try (var conn = connect();
+             var payments = conn.prepareStatement(PAYMENT_SQL);
+             var credits = conn.prepareStatement(CREDIT_SQL);
+             var orders = conn.prepareStatement(ORDER_SQL)) {
+            int pending = 0;
+            for (long i = 0; i < count; i++) {
+                next(random, purchase);
+                if (purchase.credit) {
+                    credits.setString(1, purchase.entityId);
+                    credits.setString(2, purchase.externalId);
+                    credits.setTimestamp(3, purchase.created);
+                    credits.setString(4, purchase.status);
+                    credits.addBatch();
+                } else {
+                    payments.setString(1, purchase.entityId);
+                    payments.setInt(2, AMOUNT);
+                    payments.setTimestamp(3, purchase.created);
+                    payments.setString(4, purchase.status);
+                    payments.setString(5, purchase.externalId);
+                    payments.addBatch();
+                }
+                orders.setString(1, purchase.orderId);
+                orders.setTimestamp(2, purchase.created);
+                setNullable(orders, 3, purchase.credit ? purchase.externalId : null);
+                setNullable(orders, 4, purchase.credit ? null : purchase.externalId);
+                orders.addBatch();
+                if (++pending == batchSize) {
+                    flush(conn, payments, credits, orders, pending);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                flush(conn, payments, credits, orders, pending);
+            }
+        }
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    private void flush(Connection conn, PreparedStatement payments, PreparedStatement credits, PreparedStatement orders,
+                       int pending) throws SQLException {
+        payments.executeBatch();
+        credits.executeBatch();
+        orders.executeBatch();
+        conn.commit();
+        inserted.add(2L * pending);
+    }
+
+    private void seedWithFile(SplittableRandom random, long count, int worker) throws IOException, SQLException {
+        Files.createDirectories(dir);
+        var paymentFile = dir.resolve("payment_entity-" + worker + ".csv");
+        var creditFile = dir.resolve("credit_request_entity-" + worker + ".csv");
+        var orderFile = dir.resolve("order_entity-" + worker + ".csv");
+        long chunk = (long) batchSize * 100;
+        var purchase = new Purchase();
+        try (var conn = connect()) {
+            for (long done = 0; done < count; done += chunk) {
+                long rows = Math.min(chunk, count - done);
+                try (var payments = Files.newBufferedWriter(paymentFile, StandardCharsets.UTF_8);
+                     var credits = Files.newBufferedWriter(creditFile, StandardCharsets.UTF_8);
+                     var orders = Files.newBufferedWriter(orderFile, StandardCharsets.UTF_8)) {
+                    for (long i = 0; i < rows; i++) {
+                        next(random, purchase);
+                        var created = CREATED_FORMAT.format(purchase.created.toInstant());
+                        if (purchase.credit) {
+                            line(credits, purchase.entityId, purchase.externalId, created, purchase.status);
+                            line(orders, purchase.orderId, created, purchase.externalId, "\\N");
+                        } else {
+                            line(payments, purchase.entityId, Integer.toString(AMOUNT), created,
+                                    purchase.status, purchase.externalId);
+                            line(orders, purchase.orderId, created, "\\N", purchase.externalId);
+                        }
+                    }
+                }
+                load(conn, paymentFile, "payment_entity", "id, amount, created, status, transaction_id");
+                load(conn, creditFile, "credit_request_entity", "id, bank_id, created, status");
+                load(conn, orderFile, "order_entity", "id, created, credit_id, payment_id");
+                conn.commit();
+                inserted.add(2 * rows);
+            }
+        } finally {
+            Files.deleteIfExists(paymentFile);
+            Files.deleteIfExists(creditFile);
+            Files.deleteIfExists(orderFile);
+        }
+    }
+
+    private static void line(BufferedWriter writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private static void load(Connection conn, Path file, String table, String columns) throws SQLException {
+        var path = file.toAbsolutePath().toString().replace('\\', '/');
+        try (var statement = conn.createStatement()) {
+            statement.execute("LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE " + table +
+                    " FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n' (" + columns + ")");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        long orders = Long.getLong("seed.rows", 100_000);
+        var mode = Mode.valueOf(System.getProperty("seed.mode", "batch").toUpperCase());
+        int threads = Integer.getInteger("seed.threads", 4);
+        int batchSize = Integer.getInteger("seed.batchSize", 5000);
+        int days = Integer.getInteger("seed.days", 365);
+        double creditShare = Double.parseDouble(System.getProperty("seed.creditShare", "0.3"));
+        double approvedShare = Double.parseDouble(System.getProperty("seed.approvedShare", "0.8"));
+        long seed = Long.getLong("seed.seed", Long.getLong("data.seed", 1));
+        var dir = Path.of(System.getProperty("seed.dir", "build/seed"));
+
+        var seeder = new BulkSeeder(mode, batchSize, creditShare, approvedShare, days, dir);
+        System.out.println("Seeding " + orders + " orders (" + 2 * orders + " rows): mode=" + mode + ", threads=" + threads
+                + ", batch=" + batchSize + ", seed=" + seed);
+        long start = System.nanoTime();
+        var progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("  %d rows, %.0f rows/s%n", seeder.getInserted(), seeder.getInserted() / seconds);
+        }, 5, 5, TimeUnit.SECONDS);
+        try {
+            seeder.seed(orders, threads, seed);
+        } finally {
+            progress.shutdownNow();
+        }
+        new PurchaseDao().ensureCreatedIndexes();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %d rows in %.1f s, %.0f rows/s%n", seeder.getInserted(), seconds, seeder.getInserted() / seconds);
+    }
+}
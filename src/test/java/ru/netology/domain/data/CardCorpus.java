@@ -0,0 +1,174 @@
+package ru.netology.domain.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class CardCorpus implements AutoCloseable {
+    static final int MAGIC = 0x43415244;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 128;
+    static final int NULL_LENGTH = 0xFF;
+
+    public enum Field {
+        NUMBER(0, 19),
+        MONTH(20, 2),
+        YEAR(23, 2),
+        CVC(26, 3),
+        HOLDER(30, 97);
+
+        final int offset;
+        final int capacity;
+
+        Field(int offset, int capacity) {
+            this.offset = offset;
+            this.capacity = capacity;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+    }
+
+    private static final int RECORDS_PER_CHUNK = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private CardCorpus(FileChannel channel, MappedByteBuffer[] chunks, long size) {
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static CardCorpus open(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a card corpus");
+            }
+            int version = header.getInt();
+            int recordSize = header.getInt();
+            if (version != VERSION || recordSize != RECORD_SIZE) {
+                throw new IOException("Unsupported card corpus format: version " + version + ", record size " + recordSize);
+            }
+            header.getInt();
+            long size = header.getLong();
+            if (channel.size() < HEADER_SIZE + size * RECORD_SIZE) {
+                throw new IOException(file + " is truncated");
+            }
+
+            int chunkCount = (int) ((size + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK);
+            var chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = (long) i * RECORDS_PER_CHUNK;
+                long records = Math.min(RECORDS_PER_CHUNK, size - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            }
+            return new CardCorpus(channel, chunks, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor(0, size);
+    }
+
+    public Cursor slice(int worker, int workers) {
+        long from = size * worker / workers;
+        long to = size * (worker + 1) / workers;
+        return new Cursor(from, to);
+    }
+
+    public Cursor range(long from, long to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is outside of corpus of " + size + " cards");
+        }
+        return new Cursor(from, to);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public class Cursor {
+        private final long from;
+        private final long to;
+        private long next;
+        private ByteBuffer chunk;
+        private int base = -RECORD_SIZE;
+
+        private Cursor(long from, long to) {
+            this.from = from;
+            this.next = from;
+            this.to = to;
+        }
+
+        public void rewind() {
+            next = from;
+        }
+
+        public boolean next() {
+            if (next >= to) {
+                return false;
+            }
+            chunk = chunks[(int) (next / RECORDS_PER_CHUNK)];
+            base = (int) (next % RECORDS_PER_CHUNK) * RECORD_SIZE;
+            next++;
+            return true;
+        }
+
+        public long remaining() {
+            return to - next;
+        }
+
+        public boolean isNull(Field field) {
+            return (chunk.get(base + field.offset) & 0xFF) == NULL_LENGTH;
+        }
+
+        public int length(Field field) {
+            int length = chunk.get(base + field.offset) & 0xFF;
+            return length == NULL_LENGTH ? 0 : length;
+        }
+
+        public int copy(Field field, byte[] dst, int offset) {
+            int length = length(field);
+            int start = base + field.offset + 1;
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = chunk.get(start + i);
+            }
+            return length;
+        }
+
+        public String getString(Field field) {
+            if (isNull(field)) {
+                return null;
+            }
+            var bytes = new byte[length(field)];
+            copy(field, bytes, 0);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public Card toCard() {
+            return new Card(getString(Field.NUMBER), getString(Field.MONTH), getString(Field.YEAR),
+                    getString(Field.HOLDER), getString(Field.CVC));
+        }
+    }
+}
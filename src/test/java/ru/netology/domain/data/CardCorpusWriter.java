@@ -0,0 +1,92 @@
+package ru.netology.domain.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static ru.netology.domain.data.CardCorpus.*;
+
+public class CardCorpusWriter implements AutoCloseable {
+    private static final int BATCH_RECORDS = 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE);
+    private long size;
+
+    public CardCorpusWriter(Path file) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(HEADER_SIZE);
+    }
+
+    public void append(Card card) throws IOException {
+        int base = batch.position();
+        put(base, Field.NUMBER, card.getNumber());
+        put(base, Field.MONTH, card.getMonth());
+        put(base, Field.YEAR, card.getYear());
+        put(base, Field.CVC, card.getCvc());
+        put(base, Field.HOLDER, card.getHolderName());
+        batch.position(base + RECORD_SIZE);
+        size++;
+        if (!batch.hasRemaining()) {
+            flush();
+        }
+    }
+
+    private void put(int base, Field field, String value) {
+        int offset = base + field.offset;
+        if (value == null) {
+            batch.put(offset, (byte) NULL_LENGTH);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > field.capacity) {
+            throw new IllegalArgumentException(field + " value is longer than " + field.capacity + " bytes: " + value);
+        }
+        batch.put(offset, (byte) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            batch.put(offset + 1 + i, bytes[i]);
+        }
+    }
+
+    private void flush() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).putLong(size);
+            header.clear();
+            channel.write(header, 0);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        var file = Path.of(System.getProperty("corpus.file", "build/corpus/cards.bin"));
+        long count = Long.getLong("corpus.size", 1_000_000);
+        long start = System.nanoTime();
+        try (var writer = new CardCorpusWriter(file)) {
+            for (long i = 0; i < count; i++) {
+                writer.append(new Card(DataGenerator.getApprovedNumber(), DataGenerator.getCurrentMonth(),
+                        DataGenerator.getNextYear(), DataGenerator.getValidName(), DataGenerator.getValidCvc()));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d cards to %s in %.1f s%n", count, file, seconds);
+    }
+}
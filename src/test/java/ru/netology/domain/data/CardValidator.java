@@ -0,0 +1,178 @@
+package ru.netology.domain.data;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+public class CardValidator {
+    public enum Field {
+        NUMBER,
+        MONTH,
+        YEAR,
+        HOLDER,
+        CVC
+    }
+
+    private static final int NUMBER_DIGITS = 16;
+    private static final int MAX_HOLDER_LENGTH = 100;
+    private static final int MAX_YEARS_AHEAD = 5;
+
+    private final int currentYear;
+    private final int currentMonth;
+
+    public CardValidator() {
+        this(DataGenerator.getClock());
+    }
+
+    public CardValidator(Clock clock) {
+        var today = LocalDate.now(clock);
+        currentYear = today.getYear() % 100;
+        currentMonth = today.getMonthValue();
+    }
+
+    public ValidationMessage validate(Card card) {
+        return validate(card, (ValidationMessage[]) null);
+    }
+
+    public ValidationMessage validate(Card card, ValidationMessage[] byField) {
+        ValidationMessage first = null;
+        for (Field field : Field.values()) {
+            var message = validate(card, field);
+            if (byField != null) {
+                byField[field.ordinal()] = message;
+            }
+            if (first == null) {
+                first = message;
+                if (byField == null && first != null) {
+                    return first;
+                }
+            }
+        }
+        return first;
+    }
+
+    public ValidationMessage validate(Card card, Field field) {
+        switch (field) {
+            case NUMBER:
+                return validateNumber(card.getNumber());
+            case MONTH:
+                return validateMonth(card.getMonth(), card.getYear());
+            case YEAR:
+                return validateYear(card.getYear());
+            case HOLDER:
+                return validateHolder(card.getHolderName());
+            default:
+                return validateCvc(card.getCvc());
+        }
+    }
+
+    public ValidationMessage validateNumber(String number) {
+        if (number == null || number.isEmpty()) {
+            return ValidationMessage.REQUIRED;
+        }
+        int digits = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+            } else if (c != ' ') {
+                return ValidationMessage.INVALID_FORMAT;
+            }
+        }
+        return digits == NUMBER_DIGITS ? null : ValidationMessage.INVALID_FORMAT;
+    }
+
+    public ValidationMessage validateMonth(String month, String year) {
+        if (month == null || month.isEmpty()) {
+            return ValidationMessage.REQUIRED;
+        }
+        int value = twoDigits(month);
+        if (value < 0) {
+            return ValidationMessage.INVALID_FORMAT;
+        }
+        if (value < 1 || value > 12) {
+            return ValidationMessage.INVALID_DATE;
+        }
+        int yearValue = year == null ? -1 : twoDigits(year);
+        if (yearValue == currentYear && value < currentMonth) {
+            return ValidationMessage.EXPIRED;
+        }
+        return null;
+    }
+
+    public ValidationMessage validateYear(String year) {
+        if (year == null || year.isEmpty()) {
+            return ValidationMessage.REQUIRED;
+        }
+        int value = twoDigits(year);
+        if (value < 0) {
+            return ValidationMessage.INVALID_FORMAT;
+        }
+        if (value < currentYear) {
+            return ValidationMessage.EXPIRED;
+        }
+        if (value > currentYear + MAX_YEARS_AHEAD) {
+            return ValidationMessage.INVALID_DATE;
+        }
+        return null;
+    }
+
+    public ValidationMessage validateHolder(String holder) {
+        if (holder == null || holder.isEmpty()) {
+            return ValidationMessage.REQUIRED;
+        }
+        if (holder.length() > MAX_HOLDER_LENGTH) {
+            return ValidationMessage.TOO_LONG;
+        }
+        int letters = 0;
+        int words = 0;
+        boolean inWord = false;
+        boolean hyphen = false;
+        for (int i = 0; i < holder.length(); i++) {
+            char c = holder.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else if (c == '-') {
+                hyphen = true;
+            } else if (c == ' ') {
+                inWord = false;
+            } else {
+                return ValidationMessage.LETTERS_AND_HYPHEN;
+            }
+        }
+        if (letters == 0) {
+            return ValidationMessage.LETTERS_AND_HYPHEN;
+        }
+        if (letters == 1) {
+            return ValidationMessage.MORE_THAN_ONE_LETTER;
+        }
+        if (words < 2) {
+            return hyphen ? ValidationMessage.INVALID_FORMAT : ValidationMessage.FULL_NAME;
+        }
+        return null;
+    }
+
+    public ValidationMessage validateCvc(String cvc) {
+        if (cvc == null || cvc.isEmpty()) {
+            return ValidationMessage.REQUIRED;
+        }
+        if (cvc.length() != 3 || !isDigit(cvc.charAt(0)) || !isDigit(cvc.charAt(1)) || !isDigit(cvc.charAt(2))) {
+            return ValidationMessage.CVC_DIGITS;
+        }
+        return null;
+    }
+
+    private static int twoDigits(String value) {
+        if (value.length() != 2 || !isDigit(value.charAt(0)) || !isDigit(value.charAt(1))) {
+            return -1;
+        }
+        return (value.charAt(0) - '0') * 10 + (value.charAt(1) - '0');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,11 @@
+package ru.netology.domain.data;
+
+public enum CleanupMode {
+    SCOPED,
+    TRUNCATE,
+    NONE;
+
+    public static CleanupMode fromSystemProperties() {
+        return valueOf(System.getProperty("db.cleanup", "scoped").toUpperCase());
+    }
+}
@@ -0,0 +1,89 @@
+package ru.netology.domain.data;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool {
+    private static final LongAdder acquireCount = new LongAdder();
+    private static final LongAdder acquireNanos = new LongAdder();
+    private static final AtomicLong maxAcquireNanos = new AtomicLong();
+    private static final LongAdder usageCount = new LongAdder();
+    private static final LongAdder usageMillis = new LongAdder();
+    private static final LongAdder timeouts = new LongAdder();
+
+    private ConnectionPool() {
+    }
+
+    private static class Holder {
+        private static final HikariDataSource dataSource = start();
+    }
+
+    public static DataSource getDataSource() {
+        return Holder.dataSource;
+    }
+
+    private static HikariDataSource start() {
+        var config = new HikariConfig();
+        config.setPoolName("db-utils");
+        var profile = DbProfile.current();
+        config.setJdbcUrl(profile.getUrl());
+        config.setUsername(profile.getUser());
+        config.setPassword(profile.getPassword());
+        config.setMaximumPoolSize(Integer.getInteger("db.pool.size", 4));
+        config.setMinimumIdle(Integer.getInteger("db.pool.minIdle", 1));
+        config.setConnectionTimeout(Long.getLong("db.pool.connectionTimeout", 10000));
+        config.setValidationTimeout(Long.getLong("db.pool.validationTimeout", 2000));
+        config.setMaxLifetime(Long.getLong("db.pool.maxLifetime", 600000));
+        config.addDataSourceProperty("useServerPrepStmts", System.getProperty("db.useServerPrepStmts", "true"));
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", Integer.getInteger("db.prepStmtCacheSize", 250));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", 2048);
+        var testQuery = System.getProperty("db.pool.testQuery");
+        if (testQuery != null) {
+            config.setConnectionTestQuery(testQuery);
+        }
+        config.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        });
+
+        var dataSource = new HikariDataSource(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(stats());
+            dataSource.close();
+        }, "db-utils-pool-shutdown"));
+        return dataSource;
+    }
+
+    public static String stats() {
+        long count = acquireCount.sum();
+        long uses = usageCount.sum();
+        return String.format("Connection pool: %d acquires, avg wait %.3f ms, max wait %.3f ms, avg hold %.1f ms, %d timeouts",
+                count,
+                count == 0 ? 0.0 : acquireNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1),
+                maxAcquireNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                uses == 0 ? 0.0 : usageMillis.sum() / (double) uses,
+                timeouts.sum());
+    }
+}
@@ -0,0 +1,23 @@
+package ru.netology.domain.data;
+
+import lombok.Value;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Value
+public class CreatedIds {
+    Set<String> orders;
+    Set<String> payments;
+    Set<String> credits;
+
+    public CreatedIds without(CreatedIds existing) {
+        return new CreatedIds(minus(orders, existing.orders), minus(payments, existing.payments), minus(credits, existing.credits));
+    }
+
+    private static Set<String> minus(Set<String> ids, Set<String> existing) {
+        var result = new HashSet<>(ids);
+        result.removeAll(existing);
+        return result;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.netology.domain.data;
+
+import lombok.Value;
+
+import java.sql.Timestamp;
+
+@Value
+public class CreditRow {
+    String id;
+    String bankId;
+    Timestamp created;
+    String status;
+}
@@ -1,16 +1,124 @@
 package ru.netology.domain.data;
 
 import com.github.javafaker.Faker;
-import com.github.javafaker.service.FakeValuesService;
-import com.github.javafaker.service.RandomService;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Year;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
 import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 public class DataGenerator {
-    public static Faker faker = new Faker(new Locale("en"));
+    private static volatile Seed seed = Seed.fromSystemProperties();
+    private static volatile Clock clock = clockFromSystemProperties();
+    private static final ThreadLocal<Generators> generators = new ThreadLocal<>();
+
+    private static class Seed {
+        private final Long value;
+        private final SplittableRandom root;
+
+        private Seed(Long value) {
+            this.value = value;
+            this.root = value == null ? null : new SplittableRandom(value);
+            if (root != null) {
+                root.split();
+            }
+        }
+
+        private static Seed fromSystemProperties() {
+            return new Seed(Long.getLong("data.seed"));
+        }
+
+        private synchronized SplittableRandom split() {
+            return root.split();
+        }
+
+        // Worker streams descend from the root's first split, which the constructor skips,
+        // so they never coincide with the streams handed to unbound threads.
+        private SplittableRandom forWorker(int worker) {
+            var workers = new SplittableRandom(value).split();
+            SplittableRandom random = null;
+            for (int i = 0; i <= worker; i++) {
+                random = workers.split();
+            }
+            return random;
+        }
+    }
+
+    private static class Generators {
+        private final Seed seed;
+        private final Faker faker;
+        private final Faker ruFaker;
+
+        private Generators(Seed seed, SplittableRandom random) {
+            this.seed = seed;
+            if (random == null) {
+                faker = new Faker(new Locale("en"));
+                ruFaker = new Faker(new Locale("ru"));
+            } else {
+                Random adapter = new SplittableRandomAdapter(random);
+                faker = new Faker(new Locale("en"), adapter);
+                ruFaker = new Faker(new Locale("ru"), adapter);
+            }
+        }
+    }
+
+    private static Clock clockFromSystemProperties() {
+        var date = System.getProperty("data.date");
+        if (date == null) {
+            return Clock.systemDefaultZone();
+        }
+        var zone = ZoneId.systemDefault();
+        return Clock.fixed(LocalDate.parse(date).atStartOfDay(zone).toInstant(), zone);
+    }
+
+    public static void setSeed(long value) {
+        seed = new Seed(value);
+    }
+
+    public static void clearSeed() {
+        seed = new Seed(null);
+    }
+
+    public static void resetSeed() {
+        seed = Seed.fromSystemProperties();
+    }
+
+    public static void setClock(Clock value) {
+        clock = value;
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    public static void bindWorker(int worker) {
+        var current = seed;
+        generators.set(new Generators(current, current.value == null ? null : current.forWorker(worker)));
+    }
+
+    private static Generators generators() {
+        var current = seed;
+        var result = generators.get();
+        if (result == null || result.seed != current) {
+            result = new Generators(current, current.value == null ? null : current.split());
+            generators.set(result);
+        }
+        return result;
+    }
+
+    private static Faker faker() {
+        return generators().faker;
+    }
+
+    private static Faker ruFaker() {
+        return generators().ruFaker;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(clock);
+    }
 
     public static String getApprovedNumber() {
         return "1111 2222 3333 4444";
@@ -29,87 +137,77 @@ public class DataGenerator {
     }
 
     public static String getCurrentMonth() {
-        LocalDate localDate = LocalDate.now();
-        return String.format("%02d", localDate.getMonthValue());
+        return twoDigits(today().getMonthValue());
     }
 
     public static String getLastMonth() {
-        LocalDate localDate = LocalDate.now();
-        LocalDate lastMonth = localDate.minusMonths(1);
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("MM");
-        String monthValue = lastMonth.format(dateTimeFormatter);
-        return monthValue;
+        return twoDigits(today().minusMonths(1).getMonthValue());
     }
 
     public static String getCurrentYear() {
-        return String.format("%ty", Year.now());
+        return twoDigits(today().getYear() % 100);
     }
 
     public static String getLastYear() {
-        LocalDate localDate = LocalDate.now();
-        return String.format("%ty", localDate.minusYears(1));
+        return twoDigits(today().minusYears(1).getYear() % 100);
     }
 
     public static String getNextYear() {
-        LocalDate localDate = LocalDate.now();
-        return String.format("%ty", localDate.plusYears(1));
+        return twoDigits(today().plusYears(1).getYear() % 100);
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
     }
 
     public static String getValidName() {
-        Faker faker = new Faker(new Locale("ru"));
+        Faker faker = ruFaker();
         return faker.name().firstName() + " " + faker.name().lastName();
     }
 
     public static String getValidNameInLatinLetters() {
-        Faker faker = new Faker(new Locale("en"));
+        Faker faker = faker();
         return faker.name().firstName() + " " + faker.name().lastName();
     }
 
     public static String getOnlyName() {
-        Faker faker = new Faker(new Locale("ru"));
-        return faker.name().firstName();
+        return ruFaker().name().firstName();
     }
 
     public static String getOnlyNameInLatin() {
-        Faker faker = new Faker(new Locale("en"));
-        return faker.name().firstName();
+        return faker().name().firstName();
     }
 
     public static String getOnlyLastname() {
-        Faker faker = new Faker(new Locale("ru"));
-        return faker.name().lastName();
+        return ruFaker().name().lastName();
     }
 
     public static String getOnlyLastnameInLatin() {
-        Faker faker = new Faker(new Locale("en"));
-        return faker.name().lastName();
+        return faker().name().lastName();
     }
 
     public static String getTooLongName() {
-        return faker.lorem().fixedString(250);
+        return faker().lorem().fixedString(250);
     }
 
     public static String getNameWithNumbers() {
-        return faker.number().digits(9);
+        return faker().number().digits(9);
     }
 
     public static String getNameWithOneLetter() {
-        return faker.lorem().characters(1);
+        return faker().letterify("?");
     }
 
     public static String getValidCvc() {
-        FakeValuesService fakeValuesService = new FakeValuesService(new Locale("en"), new RandomService());
-        return fakeValuesService.numerify("###");
+        return faker().numerify("###");
     }
 
     public static String getCvcWithOneDigit() {
-        FakeValuesService fakeValuesService = new FakeValuesService(new Locale("en"), new RandomService());
-        return fakeValuesService.numerify("#");
+        return faker().numerify("#");
     }
 
     public static String getCvcWithTwoDigits() {
-        FakeValuesService fakeValuesService = new FakeValuesService(new Locale("en"), new RandomService());
-        return fakeValuesService.numerify("##");
+        return faker().numerify("##");
     }
 
 }
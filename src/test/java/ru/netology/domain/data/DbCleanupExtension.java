@@ -0,0 +1,64 @@
+package ru.netology.domain.data;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.commons.support.AnnotationSupport;
+import ru.netology.domain.timing.StepTimings;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.stream.Stream;
+
+public class DbCleanupExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DbCleanupExtension.class);
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String EXISTING = "existing";
+
+    private final CleanupMode mode = CleanupMode.fromSystemProperties();
+    private final int batchSize = Integer.getInteger("db.cleanup.batchSize", 500);
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws SQLException {
+        if (mode == CleanupMode.TRUNCATE) {
+            long start = StepTimings.start();
+            DbUtils.clearTables();
+            StepTimings.record("db cleanup", start);
+        } else if (mode == CleanupMode.SCOPED && ownsNewRows(context)) {
+            long start = StepTimings.start();
+            var since = DbUtils.getCheckpoint();
+            context.getStore(NAMESPACE).put(CHECKPOINT, since);
+            context.getStore(NAMESPACE).put(EXISTING, DbUtils.getDao().findIdsCreatedSince(since));
+            StepTimings.record("db cleanup", start);
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        var since = context.getStore(NAMESPACE).remove(CHECKPOINT, Timestamp.class);
+        var existing = context.getStore(NAMESPACE).remove(EXISTING, CreatedIds.class);
+        if (since == null) {
+            return;
+        }
+        long start = StepTimings.start();
+        try {
+            DbUtils.getDao().deleteCreatedSince(since, existing, batchSize);
+        } finally {
+            StepTimings.record("db cleanup", start);
+        }
+    }
+
+    // Only purchase tests write to the database, and they hold PURCHASE_DB (or run isolated),
+    // so rows created after their checkpoint and not present at its start are theirs.
+    private static boolean ownsNewRows(ExtensionContext context) {
+        if (AnnotationSupport.isAnnotated(context.getRequiredTestClass(), Isolated.class)) {
+            return true;
+        }
+        return Stream.concat(
+                        AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(), ResourceLock.class).stream(),
+                        AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestClass(), ResourceLock.class).stream())
+                .anyMatch(lock -> DbUtils.PURCHASE_DB.equals(lock.value()));
+    }
+}
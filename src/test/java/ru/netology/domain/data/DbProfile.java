@@ -0,0 +1,75 @@
+package ru.netology.domain.data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+public class DbProfile {
+    public static final String DURABLE = "durable";
+
+    private final String name;
+    private final Properties properties;
+
+    private DbProfile(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    private static class Holder {
+        private static final DbProfile current = fromSystemProperties();
+    }
+
+    public static DbProfile current() {
+        return Holder.current;
+    }
+
+    private static DbProfile fromSystemProperties() {
+        var name = System.getProperty("db.profile", DURABLE);
+        var dir = Path.of(System.getProperty("db.config", "."));
+        var properties = new Properties();
+        load(properties, dir.resolve("application.properties"));
+        if (!DURABLE.equals(name)) {
+            var file = dir.resolve("application-" + name + ".properties");
+            if (!Files.exists(file)) {
+                throw new IllegalStateException("Database profile not found: " + file.toAbsolutePath());
+            }
+            load(properties, file);
+        }
+        return new DbProfile(name, properties);
+    }
+
+    private static void load(Properties properties, Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDurable() {
+        return DURABLE.equals(name);
+    }
+
+    public String getUrl() {
+        return System.getProperty("db.url", properties.getProperty("spring.datasource.url", "jdbc:mysql://localhost:3306/app"));
+    }
+
+    public String getUser() {
+        return System.getProperty("db.user", properties.getProperty("spring.datasource.username", "app"));
+    }
+
+    public String getPassword() {
+        return System.getProperty("db.password", properties.getProperty("spring.datasource.password", "pass"));
+    }
+}
@@ -1,46 +1,116 @@
 package ru.netology.domain.data;
 
 import org.apache.commons.dbutils.QueryRunner;
-import org.apache.commons.dbutils.handlers.ScalarHandler;
 
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DbUtils {
-    private static String getStatus(String query) throws SQLException {
-        String result = "";
-        var runner = new QueryRunner();
-        try
-                (var conn = DriverManager.getConnection("jdbc:mysql://localhost:3306/app", "app", "pass")) {
+    public static final String PURCHASE_DB = "purchase-db";
+
+    private static final Set<String> claimedOrders = ConcurrentHashMap.newKeySet();
+    private static final PurchaseDao dao = new PurchaseDao();
+
+    // created has second precision, so orders an earlier test left in the same second (e.g. a submission
+    // nothing reads back) fall after the checkpoint; they are claimed up front so they never count as candidates.
+    public static Timestamp getCheckpoint() throws SQLException {
+        long now = System.currentTimeMillis();
+        var since = new Timestamp(now - now % 1000);
+        claimedOrders.addAll(dao.findIdsCreatedSince(since).getOrders());
+        return since;
+    }
+
+    public static Timestamp getExclusiveCheckpoint() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long next = now - now % 1000 + 1000;
+        Thread.sleep(next - now);
+        return new Timestamp(next);
+    }
 
-            result = runner.query(conn, query, new ScalarHandler<String>());
-            System.out.println(result);
-            return result;
+    public static PurchaseDao getDao() {
+        return dao;
+    }
+
+    // The shop stores no card data and returns no order id, so a submission cannot be tied to its own row.
+    // The status is read from the only unclaimed order of the given kind created since the checkpoint;
+    // this relies on purchases of different tests not overlapping in time: tests that submit purchases hold PURCHASE_DB.
+    private static PurchaseRow claim(Timestamp since, BatchVerifier.Kind kind) throws SQLException {
+        long timeout = Long.getLong("db.claim.timeout", 5000);
+        long poll = Long.getLong("db.claim.poll", 200);
+        long deadline = System.currentTimeMillis() + timeout;
+        while (true) {
+            var candidates = new ArrayList<PurchaseRow>();
+            for (PurchaseRow row : dao.findPurchasesSince(since)) {
+                boolean matches = kind == BatchVerifier.Kind.PAYMENT ? row.getPayment() != null : row.getCredit() != null;
+                if (matches && !claimedOrders.contains(row.getOrder().getId())) {
+                    candidates.add(row);
+                }
+            }
+            if (candidates.size() > 1) {
+                throw new AssertionError("Expected one " + kind + " order since " + since + ", found " + candidates.size()
+                        + ": " + candidates);
+            }
+            if (candidates.size() == 1) {
+                var row = candidates.get(0);
+                claimedOrders.add(row.getOrder().getId());
+                return row;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new AssertionError("No " + kind + " order since " + since + " within " + timeout + " ms");
+            }
+            try {
+                Thread.sleep(poll);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a " + kind + " order", e);
+            }
         }
+    }
+
+    public static String getPaymentStatus(Timestamp since) throws SQLException {
+        var row = claim(since, BatchVerifier.Kind.PAYMENT);
+        var status = row.getPayment().getStatus();
+        System.out.println(row.getOrder().getId() + " " + status);
+        return status;
+    }
+
+    public static String getCreditStatus(Timestamp since) throws SQLException {
+        var row = claim(since, BatchVerifier.Kind.CREDIT);
+        var status = row.getCredit().getStatus();
+        System.out.println(row.getOrder().getId() + " " + status);
+        return status;
+    }
 
+    public static String getPaymentStatusByOrderId(String orderId) throws SQLException {
+        var payment = dao.findPaymentByOrderId(orderId);
+        var status = payment == null ? null : payment.getStatus();
+        System.out.println(status);
+        return status;
     }
 
-    public static String getPaymentStatus() throws SQLException {
-        String statusSQL = "SELECT status FROM payment_entity";
-        return getStatus(statusSQL);
+    public static String getCreditStatusByOrderId(String orderId) throws SQLException {
+        var credit = dao.findCreditByOrderId(orderId);
+        var status = credit == null ? null : credit.getStatus();
+        System.out.println(status);
+        return status;
     }
 
-    public static String getCreditStatus() throws SQLException {
-        String statusSQL = "SELECT status FROM credit_request_entity";
-        return getStatus(statusSQL);
+    public static BatchVerifier batchVerifier(Timestamp since) {
+        return new BatchVerifier(since);
     }
 
     public static void clearTables() {
-        var deletePaymentEntity = "DELETE FROM payment_entity";
-        var deleteCreditEntity = "DELETE FROM credit_request_entity";
-        var deleteOrderEntity = "DELETE FROM order_entity";
         var runner = new QueryRunner();
         try
-                (var conn = DriverManager.getConnection("jdbc:mysql://localhost:3306/app", "app", "pass")
+                (var conn = ConnectionPool.getDataSource().getConnection()
         ) {
-            runner.update(conn, deletePaymentEntity);
-            runner.update(conn, deleteCreditEntity);
-            runner.update(conn, deleteOrderEntity);
+            runner.update(conn, "TRUNCATE TABLE payment_entity");
+            runner.update(conn, "TRUNCATE TABLE credit_request_entity");
+            runner.update(conn, "TRUNCATE TABLE order_entity");
+            claimedOrders.clear();
 
         } catch (SQLException sqlException) {
             sqlException.printStackTrace();
@@ -0,0 +1,13 @@
+package ru.netology.domain.data;
+
+import lombok.Value;
+
+import java.sql.Timestamp;
+
+@Value
+public class OrderRow {
+    String id;
+    Timestamp created;
+    String paymentId;
+    String creditId;
+}
@@ -0,0 +1,14 @@
+package ru.netology.domain.data;
+
+import lombok.Value;
+
+import java.sql.Timestamp;
+
+@Value
+public class PaymentRow {
+    String id;
+    int amount;
+    Timestamp created;
+    String status;
+    String transactionId;
+}
@@ -0,0 +1,250 @@
+package ru.netology.domain.data;
+
+import ru.netology.domain.timing.StepTimings;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class PurchaseDao {
+    private static final String PAYMENT_COLUMNS = "p.id, p.amount, p.created, p.status, p.transaction_id";
+    private static final String CREDIT_COLUMNS = "c.id, c.bank_id, c.created, c.status";
+    private static final String ORDER_COLUMNS = "o.id, o.created, o.payment_id, o.credit_id";
+
+    private static final String PURCHASES_SQL = "SELECT " + ORDER_COLUMNS + ", " + PAYMENT_COLUMNS + ", " + CREDIT_COLUMNS +
+            " FROM order_entity o " +
+            "LEFT JOIN payment_entity p ON p.transaction_id = o.payment_id " +
+            "LEFT JOIN credit_request_entity c ON c.bank_id = o.credit_id " +
+            "WHERE o.created >= ?";
+    private static final String ORDERED_PURCHASES_SQL = PURCHASES_SQL + " ORDER BY o.created, o.id";
+    private static final String PAYMENT_BY_ORDER_SQL = "SELECT " + PAYMENT_COLUMNS + " FROM order_entity o " +
+            "JOIN payment_entity p ON p.transaction_id = o.payment_id WHERE o.id = ?";
+    private static final String CREDIT_BY_ORDER_SQL = "SELECT " + CREDIT_COLUMNS + " FROM order_entity o " +
+            "JOIN credit_request_entity c ON c.bank_id = o.credit_id WHERE o.id = ?";
+    private static final String PAYMENTS_SQL = "SELECT " + PAYMENT_COLUMNS + " FROM payment_entity p WHERE p.created >= ?";
+    private static final String CREDITS_SQL = "SELECT " + CREDIT_COLUMNS + " FROM credit_request_entity c WHERE c.created >= ?";
+    private static final String ORDERS_SQL = "SELECT " + ORDER_COLUMNS + " FROM order_entity o WHERE o.created >= ?";
+    private static final String ORDER_IDS_SQL = "SELECT id FROM order_entity WHERE created >= ?";
+    private static final String PAYMENT_IDS_SQL = "SELECT id FROM payment_entity WHERE created >= ?";
+    private static final String CREDIT_IDS_SQL = "SELECT id FROM credit_request_entity WHERE created >= ?";
+    private static final String PAYMENTS_WITHOUT_ORDER_SQL = "SELECT " + PAYMENT_COLUMNS + " FROM payment_entity p " +
+            "LEFT JOIN order_entity o ON o.payment_id = p.transaction_id " +
+            "WHERE p.created >= ? AND o.id IS NULL";
+    private static final String CREDITS_WITHOUT_ORDER_SQL = "SELECT " + CREDIT_COLUMNS + " FROM credit_request_entity c " +
+            "LEFT JOIN order_entity o ON o.credit_id = c.bank_id " +
+            "WHERE c.created >= ? AND o.id IS NULL";
+
+    private static final List<String> TABLES = List.of("order_entity", "payment_entity", "credit_request_entity");
+    private static final String CREATED_INDEX_SQL = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = 'created' AND seq_in_index = 1";
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private volatile boolean indexed;
+
+    public PurchaseDao() {
+        this(null);
+    }
+
+    public PurchaseDao(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    private DataSource dataSource() {
+        return dataSource != null ? dataSource : ConnectionPool.getDataSource();
+    }
+
+    // The shop's schema has no index on created; every lookup by checkpoint would otherwise scan the whole table.
+    public void ensureCreatedIndexes() throws SQLException {
+        if (indexed) {
+            return;
+        }
+        synchronized (this) {
+            if (indexed) {
+                return;
+            }
+            try (var conn = dataSource().getConnection()) {
+                for (String table : TABLES) {
+                    boolean exists;
+                    try (var statement = conn.prepareStatement(CREATED_INDEX_SQL)) {
+                        statement.setString(1, table);
+                        try (var rs = statement.executeQuery()) {
+                            exists = rs.next() && rs.getInt(1) > 0;
+                        }
+                    }
+                    if (!exists) {
+                        try (var statement = conn.createStatement()) {
+                            statement.execute("CREATE INDEX idx_" + table + "_created ON " + table + " (created)");
+                        }
+                    }
+                }
+            }
+            indexed = true;
+        }
+    }
+
+    public PaymentRow findPaymentByOrderId(String orderId) throws SQLException {
+        var rows = list(PAYMENT_BY_ORDER_SQL, rs -> payment(rs, 1), orderId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public CreditRow findCreditByOrderId(String orderId) throws SQLException {
+        var rows = list(CREDIT_BY_ORDER_SQL, rs -> credit(rs, 1), orderId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public List<PurchaseRow> findPurchasesSince(Timestamp since) throws SQLException {
+        ensureCreatedIndexes();
+        return list(ORDERED_PURCHASES_SQL, PurchaseDao::purchase, since);
+    }
+
+    public long scanPurchases(Timestamp since, Consumer<PurchaseRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(PURCHASES_SQL, PurchaseDao::purchase, consumer, since);
+    }
+
+    public long scanOrders(Timestamp since, Consumer<OrderRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(ORDERS_SQL, rs -> order(rs, 1), consumer, since);
+    }
+
+    public long scanPayments(Timestamp since, Consumer<PaymentRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(PAYMENTS_SQL, rs -> payment(rs, 1), consumer, since);
+    }
+
+    public long scanCredits(Timestamp since, Consumer<CreditRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(CREDITS_SQL, rs -> credit(rs, 1), consumer, since);
+    }
+
+    public long scanPaymentsWithoutOrder(Timestamp since, Consumer<PaymentRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(PAYMENTS_WITHOUT_ORDER_SQL, rs -> payment(rs, 1), consumer, since);
+    }
+
+    public long scanCreditsWithoutOrder(Timestamp since, Consumer<CreditRow> consumer) throws SQLException {
+        ensureCreatedIndexes();
+        return scan(CREDITS_WITHOUT_ORDER_SQL, rs -> credit(rs, 1), consumer, since);
+    }
+
+    public CreatedIds findIdsCreatedSince(Timestamp since) throws SQLException {
+        var orders = new HashSet<String>();
+        var payments = new HashSet<String>();
+        var credits = new HashSet<String>();
+        ensureCreatedIndexes();
+        scan(ORDER_IDS_SQL, rs -> rs.getString(1), orders::add, since);
+        scan(PAYMENT_IDS_SQL, rs -> rs.getString(1), payments::add, since);
+        scan(CREDIT_IDS_SQL, rs -> rs.getString(1), credits::add, since);
+        return new CreatedIds(orders, payments, credits);
+    }
+
+    public int deleteCreatedSince(Timestamp since, CreatedIds existing, int batchSize) throws SQLException {
+        var created = findIdsCreatedSince(since).without(existing);
+        return deleteOrders(created.getOrders(), batchSize) + deletePayments(created.getPayments(), batchSize)
+                + deleteCredits(created.getCredits(), batchSize);
+    }
+
+    public int deleteOrders(Collection<String> ids, int batchSize) throws SQLException {
+        return deleteByIds("order_entity", ids, batchSize);
+    }
+
+    public int deletePayments(Collection<String> ids, int batchSize) throws SQLException {
+        return deleteByIds("payment_entity", ids, batchSize);
+    }
+
+    public int deleteCredits(Collection<String> ids, int batchSize) throws SQLException {
+        return deleteByIds("credit_request_entity", ids, batchSize);
+    }
+
+    private int deleteByIds(String table, Collection<String> ids, int batchSize) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var pending = new ArrayList<>(ids);
+        int deleted = 0;
+        try (var conn = dataSource().getConnection()) {
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                var batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                var sql = "DELETE FROM " + table + " WHERE id IN (" + String.join(",", Collections.nCopies(batch.size(), "?")) + ")";
+                try (var statement = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 1, batch.get(i));
+                    }
+                    deleted += statement.executeUpdate();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private <T> List<T> list(String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        var rows = new ArrayList<T>();
+        long start = StepTimings.start();
+        try (var conn = dataSource().getConnection();
+             var statement = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+            return rows;
+        } finally {
+            StepTimings.record("db query", start);
+        }
+    }
+
+    private <T> long scan(String sql, RowMapper<T> mapper, Consumer<T> consumer, Object... params) throws SQLException {
+        long count = 0;
+        long start = StepTimings.start();
+        try (var conn = dataSource().getConnection();
+             var statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapper.map(rs));
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            StepTimings.record("db scan", start);
+        }
+    }
+
+    private static PurchaseRow purchase(ResultSet rs) throws SQLException {
+        var order = order(rs, 1);
+        var payment = rs.getString(5) == null ? null : payment(rs, 5);
+        var credit = rs.getString(10) == null ? null : credit(rs, 10);
+        return new PurchaseRow(order, payment, credit);
+    }
+
+    private static OrderRow order(ResultSet rs, int column) throws SQLException {
+        return new OrderRow(rs.getString(column), rs.getTimestamp(column + 1), rs.getString(column + 2), rs.getString(column + 3));
+    }
+
+    private static PaymentRow payment(ResultSet rs, int column) throws SQLException {
+        return new PaymentRow(rs.getString(column), rs.getInt(column + 1), rs.getTimestamp(column + 2),
+                rs.getString(column + 3), rs.getString(column + 4));
+    }
+
+    private static CreditRow credit(ResultSet rs, int column) throws SQLException {
+        return new CreditRow(rs.getString(column), rs.getString(column + 1), rs.getTimestamp(column + 2), rs.getString(column + 3));
+    }
+}
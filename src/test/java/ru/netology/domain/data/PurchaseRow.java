@@ -0,0 +1,10 @@
+package ru.netology.domain.data;
+
+import lombok.Value;
+
+@Value
+public class PurchaseRow {
+    OrderRow order;
+    PaymentRow payment;
+    CreditRow credit;
+}
@@ -0,0 +1,43 @@
+package ru.netology.domain.data;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+class SplittableRandomAdapter extends Random {
+    private final SplittableRandom random;
+
+    SplittableRandomAdapter(SplittableRandom random) {
+        super(0);
+        this.random = random;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (random.nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
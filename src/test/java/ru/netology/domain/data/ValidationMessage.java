@@ -0,0 +1,23 @@
+package ru.netology.domain.data;
+
+public enum ValidationMessage {
+    REQUIRED("Поле обязательно для заполнения"),
+    INVALID_FORMAT("Неверный формат"),
+    INVALID_DATE("Неверно указан срок действия карты"),
+    EXPIRED("Истёк срок действия карты"),
+    FULL_NAME("Введите полное имя и фамилию"),
+    TOO_LONG("Значение поля не может содержать более 100 символов"),
+    LETTERS_AND_HYPHEN("Значение поля может содержать только буквы и дефис"),
+    MORE_THAN_ONE_LETTER("Значение поля должно содержать больше одной буквы"),
+    CVC_DIGITS("Значение поля должно содержать 3 цифры");
+
+    private final String text;
+
+    ValidationMessage(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,157 @@
+package ru.netology.domain.fuzz;
+
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DataGenerator;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+public class CardFuzzer {
+    public enum Mutation {
+        NULL,
+        EMPTY,
+        BLANK,
+        TOO_LONG,
+        DIGITS,
+        ASCII,
+        UNICODE,
+        INJECTION,
+        BOUNDARY
+    }
+
+    private static final String[] NUMBERS = {
+            DataGenerator.getApprovedNumber(),
+            DataGenerator.getDeclinedNumber(),
+            DataGenerator.getInvalidCardNumber()
+    };
+    private static final String LATIN = "abcdefghijklmnopqrstuvwxyz";
+    private static final String CYRILLIC = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+    private static final String[] UNICODE = {"\u0000", "\u200B", "\uFEFF", "\uD83D\uDCB3", "\u00DF", "\u0130", "\u202E", "\t", "\n", "\u216B", "\u0661\u0662"};
+    private static final String[] INJECTIONS = {"' OR '1'='1", "\"; DROP TABLE order_entity; --", "<script>alert(1)</script>",
+            "${jndi:ldap://x}", "%s%n", "../../etc/passwd", "\\u0000", "{\"a\":1}", "null", "-1", "1e400"};
+    private static final int FIELDS = 5;
+
+    private final double malformedRatio;
+
+    public CardFuzzer(double malformedRatio) {
+        this.malformedRatio = malformedRatio;
+    }
+
+    public static Card baseline() {
+        var today = LocalDate.now(DataGenerator.getClock());
+        return new Card(DataGenerator.getApprovedNumber(), twoDigits(today.getMonthValue()),
+                twoDigits((today.getYear() + 1) % 100), "Ivan Ivanov", "123");
+    }
+
+    public Card generate(long caseSeed) {
+        var random = new SplittableRandom(caseSeed);
+        var today = LocalDate.now(DataGenerator.getClock());
+        var fields = new String[]{
+                random.nextInt(8) == 0 ? randomNumber(random) : NUMBERS[random.nextInt(NUMBERS.length)],
+                twoDigits(1 + random.nextInt(12)),
+                twoDigits((today.getYear() + 1 + random.nextInt(4)) % 100),
+                word(random, LATIN, 2 + random.nextInt(10), true) + " " + word(random, LATIN, 2 + random.nextInt(12), true),
+                digits(random, 3)
+        };
+        if (random.nextDouble() < malformedRatio) {
+            int mutations = 1 + random.nextInt(3);
+            for (int i = 0; i < mutations; i++) {
+                int field = random.nextInt(FIELDS);
+                fields[field] = mutate(random, field, fields[field], today);
+            }
+        }
+        return new Card(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    private static String mutate(SplittableRandom random, int field, String value, LocalDate today) {
+        var mutation = Mutation.values()[random.nextInt(Mutation.values().length)];
+        switch (mutation) {
+            case NULL:
+                return null;
+            case EMPTY:
+                return "";
+            case BLANK:
+                return " ".repeat(1 + random.nextInt(4));
+            case TOO_LONG:
+                return word(random, LATIN, 101 + random.nextInt(1000), false);
+            case DIGITS:
+                return digits(random, random.nextInt(25));
+            case ASCII:
+                return ascii(random, 1 + random.nextInt(20));
+            case UNICODE:
+                return insert(random, value, UNICODE[random.nextInt(UNICODE.length)]);
+            case INJECTION:
+                return INJECTIONS[random.nextInt(INJECTIONS.length)];
+            default:
+                return boundary(random, field, value, today);
+        }
+    }
+
+    private static String boundary(SplittableRandom random, int field, String value, LocalDate today) {
+        switch (field) {
+            case 0:
+                return random.nextBoolean() ? digits(random, 15) : digits(random, 17);
+            case 1:
+                var months = new String[]{"00", "13", "1", "99", twoDigits(today.minusMonths(1).getMonthValue())};
+                return months[random.nextInt(months.length)];
+            case 2:
+                var years = new String[]{twoDigits((today.getYear() - 1) % 100), twoDigits((today.getYear() + 6) % 100),
+                        "0", "2" + twoDigits(today.getYear() % 100)};
+                return years[random.nextInt(years.length)];
+            case 3:
+                var names = new String[]{word(random, LATIN, 1, true), "Ivan-Ivanov", word(random, CYRILLIC, 100, false),
+                        word(random, CYRILLIC, 101, false), "Ivan  Ivanov", "-", value.toUpperCase()};
+                return names[random.nextInt(names.length)];
+            default:
+                return random.nextBoolean() ? digits(random, 2) : digits(random, 4);
+        }
+    }
+
+    private static String randomNumber(SplittableRandom random) {
+        var builder = new StringBuilder(19);
+        for (int i = 0; i < 16; i++) {
+            if (i > 0 && i % 4 == 0) {
+                builder.append(' ');
+            }
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+    private static String digits(SplittableRandom random, int length) {
+        var builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('0' + random.nextInt(10)));
+        }
+        return builder.toString();
+    }
+
+    private static String ascii(SplittableRandom random, int length) {
+        var builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) (32 + random.nextInt(95)));
+        }
+        return builder.toString();
+    }
+
+    private static String word(SplittableRandom random, String alphabet, int length, boolean capitalize) {
+        var builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = alphabet.charAt(random.nextInt(alphabet.length()));
+            builder.append(i == 0 && capitalize ? Character.toUpperCase(c) : c);
+        }
+        return builder.toString();
+    }
+
+    private static String insert(SplittableRandom random, String value, String fragment) {
+        if (value == null || value.isEmpty()) {
+            return fragment;
+        }
+        int position = random.nextInt(value.length() + 1);
+        return value.substring(0, position) + fragment + value.substring(position);
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.netology.domain.fuzz;
+
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DataGenerator;
+import ru.netology.domain.data.ValidationMessage;
+
+public enum FuzzProperty {
+    NO_SERVER_ERROR("malformed input must not cause a server error"),
+    REJECTS_INVALID("card rejected by the form rules must be rejected by the API with 4xx"),
+    MATCHES_GATE("valid card must get the status of the bank gate");
+
+    private final String description;
+
+    FuzzProperty(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public static FuzzProperty firstViolated(Card card, ValidationMessage expected, int statusCode, String status) {
+        if (statusCode >= 500) {
+            return NO_SERVER_ERROR;
+        }
+        if (expected != null) {
+            return statusCode >= 400 ? null : REJECTS_INVALID;
+        }
+        var number = card.getNumber();
+        if (DataGenerator.getApprovedNumber().equals(number)) {
+            return statusCode == 200 && "APPROVED".equals(status) ? null : MATCHES_GATE;
+        }
+        if (DataGenerator.getDeclinedNumber().equals(number)) {
+            return statusCode == 200 && "DECLINED".equals(status) ? null : MATCHES_GATE;
+        }
+        return statusCode == 200 ? MATCHES_GATE : null;
+    }
+}
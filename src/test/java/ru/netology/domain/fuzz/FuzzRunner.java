@@ -0,0 +1,218 @@
+package ru.netology.domain.fuzz;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import ru.netology.domain.api.PurchaseRequest;
+import ru.netology.domain.api.PurchaseResponse;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.CardValidator;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class FuzzRunner {
+    private final Gson gson = new Gson();
+    private final String baseUrl = System.getProperty("sut.url", "http://localhost:8080") + "/api/v1/";
+    private final CardValidator oracle = new CardValidator();
+    private final CardFuzzer fuzzer;
+    private final FuzzStats stats;
+    private final List<String> endpoints;
+    private final int failuresPerProperty;
+    private final Map<FuzzProperty, AtomicInteger> failureCounts = new EnumMap<>(FuzzProperty.class);
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    private static class Failure {
+        private final long index;
+        private final String endpoint;
+        private final Card card;
+        private final FuzzProperty property;
+        private final int statusCode;
+
+        private Failure(long index, String endpoint, Card card, FuzzProperty property, int statusCode) {
+            this.index = index;
+            this.endpoint = endpoint;
+            this.card = card;
+            this.property = property;
+            this.statusCode = statusCode;
+        }
+    }
+
+    private static class Outcome {
+        private final int statusCode;
+        private final String status;
+
+        private Outcome(int statusCode, String status) {
+            this.statusCode = statusCode;
+            this.status = status;
+        }
+    }
+
+    public FuzzRunner(List<String> endpoints, double malformedRatio, int threads, int failuresPerProperty, FuzzStats stats) {
+        this.endpoints = endpoints;
+        this.fuzzer = new CardFuzzer(malformedRatio);
+        this.failuresPerProperty = failuresPerProperty;
+        this.stats = stats;
+        for (FuzzProperty property : FuzzProperty.values()) {
+            failureCounts.put(property, new AtomicInteger());
+        }
+        executor = Executors.newFixedThreadPool(threads);
+        client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    private HttpRequest request(String endpoint, Card card) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(PurchaseRequest.from(card))))
+                .build();
+    }
+
+    private Outcome outcome(HttpResponse<String> response) {
+        String status = null;
+        if (response.statusCode() == 200) {
+            try {
+                var body = gson.fromJson(response.body(), PurchaseResponse.class);
+                status = body == null ? null : body.getStatus();
+            } catch (JsonParseException e) {
+                status = null;
+            }
+        }
+        return new Outcome(response.statusCode(), status);
+    }
+
+    private FuzzProperty check(Card card, Outcome outcome) {
+        return FuzzProperty.firstViolated(card, oracle.validate(card), outcome.statusCode, outcome.status);
+    }
+
+    public void run(long seed, long cases, double ratePerSecond, int maxInFlight) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        var inFlight = new Semaphore(maxInFlight);
+        long intended = System.nanoTime();
+        for (long index = 0; index < cases; index++, intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var endpoint = endpoints.get((int) (index % endpoints.size()));
+            if (!inFlight.tryAcquire()) {
+                stats.dropped();
+                continue;
+            }
+            long caseIndex = index;
+            var card = fuzzer.generate(caseSeed(seed, index));
+            stats.sent();
+            client.sendAsync(request(endpoint, card), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (error != null) {
+                            stats.transportError();
+                            return;
+                        }
+                        var outcome = outcome(response);
+                        var violated = check(card, outcome);
+                        stats.completed(outcome.statusCode, violated);
+                        if (violated != null && failureCounts.get(violated).getAndIncrement() < failuresPerProperty) {
+                            failures.add(new Failure(caseIndex, endpoint, card, violated, outcome.statusCode));
+                        }
+                    });
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    public void shrinkFailures(long seed, int maxSteps, Path output) throws IOException {
+        var shrinker = new Shrinker(CardFuzzer.baseline(), maxSteps);
+        Files.createDirectories(output.getParent());
+        try (var writer = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            for (Failure failure : failures) {
+                var minimal = shrinker.shrink(failure.card, card -> failure.property == send(failure.endpoint, card));
+                var line = String.format("%s %s seed=%d case=%d status=%d%n  original: %s%n  minimal:  %s",
+                        failure.property, failure.endpoint, seed, failure.index, failure.statusCode,
+                        gson.toJson(PurchaseRequest.from(failure.card)), gson.toJson(PurchaseRequest.from(minimal)));
+                System.out.println(line);
+                writer.println(line);
+            }
+        }
+    }
+
+    private FuzzProperty send(String endpoint, Card card) {
+        try {
+            return check(card, outcome(client.send(request(endpoint, card), HttpResponse.BodyHandlers.ofString())));
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static long caseSeed(long seed, long index) {
+        return seed ^ (index * 0x9E3779B97F4A7C15L);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long seed = Long.getLong("fuzz.seed", Long.getLong("data.seed", System.currentTimeMillis()));
+        long cases = Long.getLong("fuzz.cases", 100_000);
+        double rate = Double.parseDouble(System.getProperty("fuzz.rate", "200"));
+        int maxInFlight = Integer.getInteger("fuzz.maxInFlight", 64);
+        int threads = Integer.getInteger("fuzz.threads", 8);
+        double malformed = Double.parseDouble(System.getProperty("fuzz.malformed", "0.7"));
+        var endpointNames = List.of(System.getProperty("fuzz.endpoints", "pay,credit").split(","));
+        int failuresPerProperty = Integer.getInteger("fuzz.failures", 5);
+        int shrinkSteps = Integer.getInteger("fuzz.shrinkSteps", 500);
+        var interval = Duration.ofMillis(Long.getLong("fuzz.interval", 1000));
+        var outputDir = Path.of(System.getProperty("fuzz.output", "build/fuzz"));
+
+        System.out.println("Fuzz run: seed=" + seed + ", cases=" + cases + ", rate=" + rate + " req/s, malformed=" + malformed);
+        var stats = new FuzzStats(outputDir.resolve("curve.csv"));
+        var runner = new FuzzRunner(endpointNames, malformed, threads, failuresPerProperty, stats);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> System.out.println(stats.sample()),
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            runner.run(seed, cases, rate, maxInFlight);
+            sampler.shutdown();
+            sampler.awaitTermination(interval.toMillis(), TimeUnit.MILLISECONDS);
+            System.out.println(stats.sample());
+            System.out.println(stats.summary());
+            runner.shrinkFailures(seed, shrinkSteps, outputDir.resolve("failures.txt"));
+        } finally {
+            sampler.shutdownNow();
+            runner.shutdown();
+            stats.close();
+        }
+        if (stats.getViolations() > 0) {
+            System.exit(1);
+        }
+    }
+}
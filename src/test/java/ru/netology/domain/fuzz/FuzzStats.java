@@ -0,0 +1,107 @@
+package ru.netology.domain.fuzz;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class FuzzStats {
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Map<FuzzProperty, LongAdder> violations = new EnumMap<>(FuzzProperty.class);
+    private final PrintWriter curve;
+    private final long start = System.nanoTime();
+    private long lastCompleted;
+    private long lastErrors;
+    private long lastViolations;
+    private long lastNanos = start;
+
+    public FuzzStats(Path curveFile) throws IOException {
+        for (FuzzProperty property : FuzzProperty.values()) {
+            violations.put(property, new LongAdder());
+        }
+        Files.createDirectories(curveFile.getParent());
+        curve = new PrintWriter(Files.newBufferedWriter(curveFile, StandardCharsets.UTF_8));
+        curve.println("seconds,sent,completed,throughput,error_rate,violations,dropped");
+    }
+
+    public void sent() {
+        sent.increment();
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public void transportError() {
+        completed.increment();
+        transportErrors.increment();
+    }
+
+    public void completed(int statusCode, FuzzProperty violated) {
+        completed.increment();
+        if (statusCode >= 500) {
+            serverErrors.increment();
+        } else if (statusCode >= 400) {
+            rejected.increment();
+        }
+        if (violated != null) {
+            violations.get(violated).increment();
+        }
+    }
+
+    private long errors() {
+        return transportErrors.sum() + serverErrors.sum();
+    }
+
+    private long violationCount() {
+        return violations.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public synchronized String sample() {
+        long now = System.nanoTime();
+        long completedNow = completed.sum();
+        long errorsNow = errors();
+        long violationsNow = violationCount();
+        double intervalSeconds = (now - lastNanos) / 1e9;
+        long intervalCompleted = completedNow - lastCompleted;
+        double throughput = intervalSeconds > 0 ? intervalCompleted / intervalSeconds : 0;
+        double errorRate = intervalCompleted > 0 ? (double) (errorsNow - lastErrors) / intervalCompleted : 0;
+        double seconds = (now - start) / 1e9;
+        curve.printf("%.1f,%d,%d,%.1f,%.4f,%d,%d%n", seconds, sent.sum(), completedNow, throughput, errorRate,
+                violationsNow - lastViolations, dropped.sum());
+        curve.flush();
+        lastNanos = now;
+        lastCompleted = completedNow;
+        lastErrors = errorsNow;
+        lastViolations = violationsNow;
+        return String.format("%6.1f s sent=%d completed=%d throughput=%.1f req/s error_rate=%.2f%% violations=%d",
+                seconds, sent.sum(), completedNow, throughput, errorRate * 100, violationsNow);
+    }
+
+    public long getViolations() {
+        return violationCount();
+    }
+
+    public synchronized String summary() {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        var builder = new StringBuilder(String.format(
+                "Fuzz run: sent=%d completed=%d dropped=%d throughput=%.1f req/s rejected(4xx)=%d server_errors(5xx)=%d transport_errors=%d",
+                sent.sum(), completed.sum(), dropped.sum(), completed.sum() / seconds, rejected.sum(), serverErrors.sum(), transportErrors.sum()));
+        violations.forEach((property, count) -> builder.append(System.lineSeparator())
+                .append(String.format("  %-16s %d (%s)", property, count.sum(), property.getDescription())));
+        return builder.toString();
+    }
+
+    public void close() {
+        curve.close();
+    }
+}
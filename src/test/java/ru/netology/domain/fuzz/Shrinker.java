@@ -0,0 +1,120 @@
+package ru.netology.domain.fuzz;
+
+import ru.netology.domain.data.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class Shrinker {
+    private static final int FIELDS = 5;
+
+    private final String[] baseline;
+    private final int maxSteps;
+
+    public Shrinker(Card baseline, int maxSteps) {
+        this.baseline = fields(baseline);
+        this.maxSteps = maxSteps;
+    }
+
+    public Card shrink(Card failing, Predicate<Card> stillFails) {
+        var current = fields(failing);
+        int steps = 0;
+        boolean progress = true;
+        while (progress && steps < maxSteps) {
+            progress = false;
+            for (String[] candidate : candidates(current)) {
+                if (steps++ >= maxSteps) {
+                    break;
+                }
+                if (complexity(candidate) < complexity(current) && stillFails.test(card(candidate))) {
+                    current = candidate;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return card(current);
+    }
+
+    private List<String[]> candidates(String[] current) {
+        var result = new ArrayList<String[]>();
+        for (int field = 0; field < FIELDS; field++) {
+            var value = current[field];
+            if (equal(value, baseline[field])) {
+                continue;
+            }
+            result.add(with(current, field, baseline[field]));
+            if (value == null) {
+                continue;
+            }
+            int length = value.length();
+            if (length > 1) {
+                result.add(with(current, field, value.substring(0, length / 2)));
+                result.add(with(current, field, value.substring(length / 2)));
+            }
+            if (length <= 16) {
+                for (int i = 0; i < length; i++) {
+                    result.add(with(current, field, value.substring(0, i) + value.substring(i + 1)));
+                }
+            }
+            var simplified = simplify(value);
+            if (!simplified.equals(value)) {
+                result.add(with(current, field, simplified));
+            }
+        }
+        return result;
+    }
+
+    private int complexity(String[] fields) {
+        int result = 0;
+        for (int field = 0; field < FIELDS; field++) {
+            var value = fields[field];
+            if (equal(value, baseline[field])) {
+                continue;
+            }
+            result += 1000;
+            if (value != null) {
+                result += value.length() * 2;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'z')) {
+                        result++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String simplify(String value) {
+        var chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (Character.isDigit(c)) {
+                chars[i] = c >= '0' && c <= '9' ? c : '0';
+            } else if (Character.isLetter(c)) {
+                chars[i] = c >= 'a' && c <= 'z' ? c : 'a';
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String[] with(String[] fields, int field, String value) {
+        var result = fields.clone();
+        result[field] = value;
+        return result;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static String[] fields(Card card) {
+        return new String[]{card.getNumber(), card.getMonth(), card.getYear(), card.getHolderName(), card.getCvc()};
+    }
+
+    private static Card card(String[] fields) {
+        return new Card(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.netology.domain.gate;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.netology.domain.data.DataGenerator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GateEmulator {
+    private static final String APPROVED_NUMBER = DataGenerator.getApprovedNumber().replace(" ", "");
+    private static final String DECLINED_NUMBER = DataGenerator.getDeclinedNumber().replace(" ", "");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService delayer = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private volatile long latencyMillis;
+
+    public GateEmulator(int port, long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/payment", exchange -> handle("payment", exchange));
+        server.createContext("/credit", exchange -> handle("credit", exchange));
+        server.setExecutor(executor);
+    }
+
+    public static GateEmulator fromSystemProperties() throws IOException {
+        return new GateEmulator(Integer.getInteger("gate.port", 9999), Long.getLong("gate.latency", 0));
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Gate emulator started on port " + getPort() + " with latency " + latencyMillis + " ms");
+    }
+
+    public void stop() {
+        server.stop(0);
+        delayer.shutdownNow();
+        executor.shutdownNow();
+        System.out.println("Gate emulator stopped: " + getCounters());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getCount(String gate, String status) {
+        var counter = counters.get(gate + " " + status);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public Map<String, Long> getCounters() {
+        var result = new TreeMap<String, Long>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+
+    public void resetCounters() {
+        counters.clear();
+    }
+
+    private void handle(String gate, HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            count(gate, "REJECTED");
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        String status = resolveStatus(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        count(gate, status);
+        if (latencyMillis > 0) {
+            delayer.schedule(() -> executor.execute(() -> respond(exchange, status)), latencyMillis, TimeUnit.MILLISECONDS);
+        } else {
+            respond(exchange, status);
+        }
+    }
+
+    private static String resolveStatus(String body) {
+        try {
+            JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+            var number = json.get("number");
+            if (number == null || number.isJsonNull()) {
+                return "UNKNOWN";
+            }
+            var digits = number.getAsString().replace(" ", "");
+            if (APPROVED_NUMBER.equals(digits)) {
+                return "APPROVED";
+            }
+            if (DECLINED_NUMBER.equals(digits)) {
+                return "DECLINED";
+            }
+            return "UNKNOWN";
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            return "UNKNOWN";
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String status) {
+        try {
+            if ("UNKNOWN".equals(status)) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            byte[] response = ("{\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void count(String gate, String status) {
+        counters.computeIfAbsent(gate + " " + status, key -> new LongAdder()).increment();
+    }
+
+    public static void main(String[] args) throws IOException {
+        var emulator = fromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(emulator::stop));
+        emulator.start();
+    }
+}
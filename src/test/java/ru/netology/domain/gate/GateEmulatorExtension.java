@@ -0,0 +1,48 @@
+package ru.netology.domain.gate;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.BindException;
+
+public class GateEmulatorExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(GateEmulatorExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!Boolean.parseBoolean(System.getProperty("gate.emulator", "true"))) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(GateEmulator.class, key -> start(), Resource.class);
+    }
+
+    private static Resource start() {
+        try {
+            var emulator = GateEmulator.fromSystemProperties();
+            emulator.start();
+            return new Resource(emulator);
+        } catch (BindException e) {
+            System.out.println("Gate emulator port is busy, using the gate that is already running");
+            return new Resource(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Resource implements ExtensionContext.Store.CloseableResource {
+        private final GateEmulator emulator;
+
+        private Resource(GateEmulator emulator) {
+            this.emulator = emulator;
+        }
+
+        @Override
+        public void close() {
+            if (emulator != null) {
+                emulator.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.netology.domain.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Histogram interval;
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public synchronized Histogram sampleInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    public synchronized void reset() {
+        sampleInterval();
+        total.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public synchronized String summary(double seconds) {
+        sampleInterval();
+        return String.format("%-7s count=%d errors=%d dropped=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms",
+                endpoint,
+                total.getTotalCount(),
+                errors.sum(),
+                dropped.sum(),
+                total.getTotalCount() / seconds,
+                millis(total.getValueAtPercentile(50)),
+                millis(total.getValueAtPercentile(95)),
+                millis(total.getValueAtPercentile(99)),
+                millis(total.getValueAtPercentile(99.9)),
+                millis(total.getMaxValue()));
+    }
+
+    public synchronized void writeDistribution(Path file) throws FileNotFoundException {
+        try (var out = new PrintStream(file.toFile())) {
+            total.outputPercentileDistribution(out, (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
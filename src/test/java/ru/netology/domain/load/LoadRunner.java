@@ -0,0 +1,281 @@
+package ru.netology.domain.load;
+
+import com.google.gson.Gson;
+import ru.netology.domain.api.PurchaseRequest;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.CardCorpus;
+import ru.netology.domain.data.DataGenerator;
+import ru.netology.domain.sut.SutTelemetry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static ru.netology.domain.data.DataGenerator.*;
+
+public class LoadRunner {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int BODY_CAPACITY = 64 + 6 * Arrays.stream(CardCorpus.Field.values()).mapToInt(CardCorpus.Field::getCapacity).sum();
+
+    private final Gson gson = new Gson();
+    private final String baseUrl = System.getProperty("sut.url", "http://localhost:8080") + "/api/v1/";
+    private final List<EndpointStats> endpoints = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int workerOffset;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final ThreadLocal<CardCorpus.Cursor> corpusCursor = new ThreadLocal<>();
+    private CardCorpus corpus;
+
+    public LoadRunner(List<String> endpointNames, int threads) {
+        for (String name : endpointNames) {
+            endpoints.add(new EndpointStats(name));
+        }
+        executor = Executors.newFixedThreadPool(threads);
+        client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public void useCorpus(CardCorpus corpus) {
+        this.corpus = corpus;
+    }
+
+    private EndpointStats nextEndpoint() {
+        return endpoints.get((int) (sequence.getAndIncrement() % endpoints.size()));
+    }
+
+    private HttpRequest request(EndpointStats endpoint, byte[] buffer) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + endpoint.getEndpoint()))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(corpus == null ? generatedBody() : corpusBody(buffer))
+                .build();
+    }
+
+    private HttpRequest.BodyPublisher generatedBody() {
+        Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+        return HttpRequest.BodyPublishers.ofString(gson.toJson(PurchaseRequest.from(card)));
+    }
+
+    // The publisher reads the buffer while the request is sent, so a buffer is reused only once its request has completed.
+    private HttpRequest.BodyPublisher corpusBody(byte[] body) {
+        var cursor = corpusCursor.get();
+        if (!cursor.next()) {
+            cursor.rewind();
+            cursor.next();
+        }
+        int length = 0;
+        length = appendField(body, length, "{\"number\":", cursor, CardCorpus.Field.NUMBER);
+        length = appendField(body, length, ",\"year\":", cursor, CardCorpus.Field.YEAR);
+        length = appendField(body, length, ",\"month\":", cursor, CardCorpus.Field.MONTH);
+        length = appendField(body, length, ",\"holder\":", cursor, CardCorpus.Field.HOLDER);
+        length = appendField(body, length, ",\"cvc\":", cursor, CardCorpus.Field.CVC);
+        body[length++] = '}';
+        return HttpRequest.BodyPublishers.ofByteArray(body, 0, length);
+    }
+
+    private static int appendField(byte[] body, int length, String name, CardCorpus.Cursor cursor, CardCorpus.Field field) {
+        for (int i = 0; i < name.length(); i++) {
+            body[length++] = (byte) name.charAt(i);
+        }
+        if (cursor.isNull(field)) {
+            body[length++] = 'n';
+            body[length++] = 'u';
+            body[length++] = 'l';
+            body[length++] = 'l';
+            return length;
+        }
+        body[length++] = '"';
+        int valueLength = cursor.copy(field, body, length);
+        int end = length + valueLength;
+        int extra = 0;
+        for (int i = length; i < end; i++) {
+            extra += escapedLength(body[i]) - 1;
+        }
+        if (extra > 0) {
+            int to = end + extra;
+            for (int from = end - 1; from >= length; from--) {
+                byte b = body[from];
+                if (b == '"' || b == '\\') {
+                    body[--to] = b;
+                    body[--to] = '\\';
+                } else if (b >= 0 && b < 0x20) {
+                    body[--to] = (byte) HEX[b & 0xf];
+                    body[--to] = (byte) HEX[b >> 4];
+                    body[--to] = '0';
+                    body[--to] = '0';
+                    body[--to] = 'u';
+                    body[--to] = '\\';
+                } else {
+                    body[--to] = b;
+                }
+            }
+        }
+        length = end + extra;
+        body[length++] = '"';
+        return length;
+    }
+
+    private static int escapedLength(byte b) {
+        if (b == '"' || b == '\\') {
+            return 2;
+        }
+        return b >= 0 && b < 0x20 ? 6 : 1;
+    }
+
+    private void useCorpusSlice(int worker, int workers) {
+        if (corpus != null) {
+            int slices = (int) Math.max(1, Math.min(workers, corpus.size()));
+            corpusCursor.set(corpus.slice(worker % slices, slices));
+        }
+    }
+
+    public void runClosedLoop(int users, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        var workers = new ArrayList<Thread>();
+        for (int i = 0; i < users; i++) {
+            int slice = i;
+            int workerIndex = workerOffset + i;
+            var worker = new Thread(() -> {
+                DataGenerator.bindWorker(workerIndex);
+                useCorpusSlice(slice, users);
+                var buffer = new byte[BODY_CAPACITY];
+                while (System.nanoTime() < deadline) {
+                    var endpoint = nextEndpoint();
+                    var request = request(endpoint, buffer);
+                    long start = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    endpoint.record(System.nanoTime() - start, success);
+                }
+            }, "load-user-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        workerOffset += users;
+    }
+
+    public void runOpenLoop(double ratePerSecond, int maxInFlight, Duration duration) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        var inFlight = new Semaphore(maxInFlight);
+        DataGenerator.bindWorker(workerOffset++);
+        useCorpusSlice(0, 1);
+        var buffers = new ConcurrentLinkedQueue<byte[]>();
+        for (int i = 0; corpus != null && i < maxInFlight; i++) {
+            buffers.add(new byte[BODY_CAPACITY]);
+        }
+        for (long intended = start; intended < deadline; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var endpoint = nextEndpoint();
+            if (!inFlight.tryAcquire()) {
+                endpoint.recordDropped();
+                continue;
+            }
+            long scheduled = intended;
+            var buffer = buffers.poll();
+            client.sendAsync(request(endpoint, buffer), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (buffer != null) {
+                            buffers.add(buffer);
+                        }
+                        inFlight.release();
+                        endpoint.record(System.nanoTime() - scheduled, error == null && response.statusCode() == 200);
+                    });
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    public void report(double seconds, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        for (EndpointStats endpoint : endpoints) {
+            System.out.println(endpoint.summary(seconds));
+            endpoint.writeDistribution(outputDir.resolve(endpoint.getEndpoint() + ".hgrm"));
+        }
+    }
+
+    public void resetStats() {
+        endpoints.forEach(EndpointStats::reset);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        var mode = System.getProperty("load.mode", "closed");
+        var endpointNames = List.of(System.getProperty("load.endpoints", "pay,credit").split(","));
+        int users = Integer.getInteger("load.users", 10);
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        int maxInFlight = Integer.getInteger("load.maxInFlight", 1000);
+        var warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        var duration = Duration.ofSeconds(Long.getLong("load.duration", 60));
+        var outputDir = Path.of(System.getProperty("load.output", "build/load"));
+
+        var jmxPort = Integer.getInteger("sut.jmx.port");
+        var telemetry = jmxPort == null ? null
+                : SutTelemetry.connect(jmxPort, Duration.ofMillis(Long.getLong("sut.telemetry.interval", 500)));
+        var runner = new LoadRunner(endpointNames, Math.max(users, 4));
+        var corpusFile = System.getProperty("load.corpus");
+        CardCorpus corpus = corpusFile == null ? null : CardCorpus.open(Path.of(corpusFile));
+        runner.useCorpus(corpus);
+        try {
+            for (Duration phase : List.of(warmup, duration)) {
+                runner.resetStats();
+                if ("open".equals(mode)) {
+                    runner.runOpenLoop(rate, maxInFlight, phase);
+                } else {
+                    runner.runClosedLoop(users, phase);
+                }
+            }
+            System.out.println("Load run: mode=" + mode + ", users=" + users + ", rate=" + rate + " req/s, duration=" + duration.getSeconds() + " s");
+            runner.report(duration.toMillis() / 1000.0, outputDir);
+            if (telemetry != null) {
+                telemetry.writeCsv(outputDir.resolve("sut-telemetry.csv"));
+                System.out.println(SutTelemetry.summary(telemetry.all()));
+                System.out.println("SUT flight recording: " + telemetry.dumpRecording(outputDir.resolve("sut.jfr")));
+            }
+        } finally {
+            runner.shutdown();
+            if (corpus != null) {
+                corpus.close();
+            }
+            if (telemetry != null) {
+                telemetry.close();
+            }
+        }
+    }
+}
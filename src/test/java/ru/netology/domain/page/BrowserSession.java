@@ -0,0 +1,126 @@
+package ru.netology.domain.page;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import ru.netology.domain.timing.StepTimings;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.codeborne.selenide.Selenide.executeAsyncJavaScript;
+
+public class BrowserSession {
+    private static final String BASE_URL = System.getProperty("sut.url", "http://localhost:8080");
+    private static final boolean REUSE = Boolean.parseBoolean(System.getProperty("session.reuse", "false"));
+
+    private static final LongAdder loads = new LongAdder();
+    private static final LongAdder loadNanos = new LongAdder();
+    private static final LongAdder resets = new LongAdder();
+    private static final LongAdder savedNanos = new LongAdder();
+
+    private static final long RESET_TIMEOUT = Long.getLong("session.resetTimeout", 1000);
+
+    // Notifications and validation messages are React state, so they are reset through the page's own controls
+    // (notification closers, cleared inputs, switching the form away and back) rather than by editing the DOM.
+    private static final String RESET_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "if (location.href.indexOf(arguments[0]) !== 0) { done(false); return; }" +
+            "var visible = function (el) {" +
+            "  if (!el || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) return false;" +
+            "  var style = getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && parseFloat(style.opacity) > 0;" +
+            "};" +
+            "var anyVisible = function (selector) {" +
+            "  var elements = document.querySelectorAll(selector);" +
+            "  for (var i = 0; i < elements.length; i++) { if (visible(elements[i])) return true; }" +
+            "  return false;" +
+            "};" +
+            "var button = function (text) {" +
+            "  var buttons = document.querySelectorAll('button');" +
+            "  for (var i = 0; i < buttons.length; i++) { if (buttons[i].textContent.trim() === text) return buttons[i]; }" +
+            "  return null;" +
+            "};" +
+            "var notifications = document.querySelectorAll('.notification_status_ok, .notification_status_error');" +
+            "for (var i = 0; i < notifications.length; i++) {" +
+            "  var closer = notifications[i].querySelector('.notification__closer');" +
+            "  if (closer && visible(notifications[i])) closer.click();" +
+            "}" +
+            "var form = document.querySelector('form');" +
+            "if (form) {" +
+            "  var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "  var inputs = form.querySelectorAll('input');" +
+            "  for (var j = 0; j < inputs.length; j++) {" +
+            "    if (inputs[j].value === '') continue;" +
+            "    setter.call(inputs[j], '');" +
+            "    inputs[j].dispatchEvent(new Event('input', {bubbles: true}));" +
+            "    inputs[j].dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  }" +
+            "  if (anyVisible('form .input__sub') || form.querySelector('.input_invalid')) {" +
+            "    var heading = document.querySelector('h3');" +
+            "    var credit = heading && heading.textContent.indexOf(arguments[2]) >= 0;" +
+            "    var other = button(credit ? arguments[3] : arguments[4]);" +
+            "    var current = button(credit ? arguments[4] : arguments[3]);" +
+            "    if (other && current) { other.click(); current.click(); }" +
+            "  }" +
+            "}" +
+            "var deadline = Date.now() + arguments[1];" +
+            "var check = function () {" +
+            "  var clean = !anyVisible('.notification_status_ok, .notification_status_error')" +
+            "      && !anyVisible('form .input__sub') && !document.querySelector('form .input_invalid');" +
+            "  if (clean) { window.scrollTo(0, 0); done(true); }" +
+            "  else if (Date.now() >= deadline) done(false);" +
+            "  else setTimeout(check, 50);" +
+            "};" +
+            "check();";
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(stats())));
+    }
+
+    private BrowserSession() {
+    }
+
+    public static String getBaseUrl() {
+        return BASE_URL;
+    }
+
+    public static StartPage open() {
+        long start = System.nanoTime();
+        if (REUSE && WebDriverRunner.hasWebDriverStarted() && reset()) {
+            var page = new StartPage();
+            long resetNanos = System.nanoTime() - start;
+            long saved = Math.max(0, averageLoadNanos() - resetNanos);
+            StepTimings.record("open page", start);
+            resets.increment();
+            savedNanos.add(saved);
+            System.out.printf("Browser session reused in %.0f ms, saved ~%.0f ms%n", millis(resetNanos), millis(saved));
+            return page;
+        }
+        Selenide.open(BASE_URL);
+        var page = new StartPage();
+        StepTimings.record("open page", start);
+        loads.increment();
+        loadNanos.add(System.nanoTime() - start);
+        return page;
+    }
+
+    private static boolean reset() {
+        Boolean clean = executeAsyncJavaScript(RESET_SCRIPT, BASE_URL, RESET_TIMEOUT, CardFormPage.FormType.CREDIT.getHeading(),
+                StartPage.BUY_TEXT, StartPage.CREDIT_TEXT);
+        return Boolean.TRUE.equals(clean);
+    }
+
+    private static long averageLoadNanos() {
+        long count = loads.sum();
+        return count == 0 ? 0 : loadNanos.sum() / count;
+    }
+
+    public static String stats() {
+        return String.format("Browser session: %d page loads (avg %.0f ms), %d in-place resets, ~%.1f s saved",
+                loads.sum(), millis(averageLoadNanos()), resets.sum(), savedNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,351 @@
+package ru.netology.domain.page;
+
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.ValidationMessage;
+import ru.netology.domain.timing.StepTimings;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.codeborne.selenide.Condition.visible;
+import static com.codeborne.selenide.Selenide.$;
+import static com.codeborne.selenide.Selenide.$$;
+import static com.codeborne.selenide.Selenide.executeAsyncJavaScript;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+public class CardFormPage {
+    public enum FormType {
+        PAYMENT("Оплата по карте"),
+        CREDIT("Кредит по данным карты");
+
+        private final String heading;
+
+        FormType(String heading) {
+            this.heading = heading;
+        }
+
+        public String getHeading() {
+            return heading;
+        }
+    }
+
+    public enum Field {
+        NUMBER("input[placeholder='0000 0000 0000 0000']"),
+        MONTH("input[placeholder='08']"),
+        YEAR("input[placeholder='22']"),
+        HOLDER("input:not([placeholder])"),
+        CVC("input[placeholder='999']");
+
+        private final String selector;
+
+        Field(String selector) {
+            this.selector = selector;
+        }
+
+        public String getSelector() {
+            return selector;
+        }
+    }
+
+    private static final String CONTINUE_BUTTON_TEXT = "Продолжить";
+
+    private static final String MESSAGES_SCRIPT =
+            "var form = document.querySelector('form');" +
+            "if (!form) return [];" +
+            "var visible = function (el) { return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length); };" +
+            "var subs = form.querySelectorAll('.input__sub');" +
+            "var result = [];" +
+            "for (var i = 0; i < subs.length; i++) { if (visible(subs[i])) result.push(subs[i].textContent.trim()); }" +
+            "return result;";
+
+    private static final String FIELD_MESSAGES_SCRIPT =
+            "var form = document.querySelector('form');" +
+            "var result = [];" +
+            "for (var i = 0; i < arguments[0].length; i++) {" +
+            "  var input = form ? form.querySelector(arguments[0][i]) : null;" +
+            "  var wrapper = input ? input.closest('.input') : null;" +
+            "  var sub = wrapper ? wrapper.querySelector('.input__sub') : null;" +
+            "  result.push(sub ? sub.textContent.trim() : null);" +
+            "}" +
+            "return result;";
+
+    private static final String FILL_SCRIPT =
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "for (var i = 0; i < arguments[0].length; i++) {" +
+            "  var input = arguments[0][i];" +
+            "  var value = arguments[1][i];" +
+            "  input.focus();" +
+            "  setter.call(input, value === null ? '' : value);" +
+            "  input.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  input.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  input.dispatchEvent(new FocusEvent('blur'));" +
+            "  input.dispatchEvent(new FocusEvent('focusout', {bubbles: true}));" +
+            "}";
+
+    private static final String ARM_NOTIFICATION_SCRIPT =
+            "var previous = window.__cardFormNotification;" +
+            "if (previous) { previous.observer.disconnect(); clearInterval(previous.poller); }" +
+            "var state = {outcome: null, elapsed: null, start: performance.now(), listener: null};" +
+            "var visible = function (el) {" +
+            "  if (!el || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) return false;" +
+            "  var style = getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && parseFloat(style.opacity) > 0;" +
+            "};" +
+            "var check = function () {" +
+            "  if (state.outcome) return;" +
+            "  var outcome = visible(document.querySelector('.notification_status_ok')) ? 'SUCCESS'" +
+            "      : visible(document.querySelector('.notification_status_error')) ? 'ERROR' : null;" +
+            "  if (!outcome) return;" +
+            "  state.outcome = outcome;" +
+            "  state.elapsed = performance.now() - state.start;" +
+            "  state.observer.disconnect();" +
+            "  clearInterval(state.poller);" +
+            "  if (state.listener) state.listener();" +
+            "};" +
+            "state.observer = new MutationObserver(check);" +
+            "state.observer.observe(document.body, {subtree: true, childList: true, attributes: true, attributeFilter: ['class', 'style']});" +
+            "state.poller = setInterval(check, 250);" +
+            "window.__cardFormNotification = state;";
+
+    private static final String AWAIT_NOTIFICATION_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var state = window.__cardFormNotification;" +
+            "if (!state) { done(null); return; }" +
+            "var report = function () { done({outcome: state.outcome || 'TIMEOUT', elapsed: performance.now() - state.start}); };" +
+            "if (state.outcome) { done({outcome: state.outcome, elapsed: state.elapsed}); return; }" +
+            "var timer = setTimeout(function () { state.listener = null; report(); }, arguments[0]);" +
+            "state.listener = function () { clearTimeout(timer); done({outcome: state.outcome, elapsed: state.elapsed}); };";
+
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofMillis(15000);
+    private static final Duration FIELD_RESET_TIMEOUT = Duration.ofMillis(1000);
+
+    private static final FillMode DEFAULT_FILL_MODE = FillMode.fromSystemProperties();
+    private static final ThreadLocal<FillMode> fillMode = ThreadLocal.withInitial(() -> DEFAULT_FILL_MODE);
+
+    private final FormType type;
+    private final SelenideElement cardNumberField;
+    private final SelenideElement monthField;
+    private final SelenideElement yearField;
+    private final SelenideElement holderField;
+    private final SelenideElement cvcField;
+    private final SelenideElement continueButton;
+
+    public CardFormPage(FormType type) {
+        this.type = type;
+        long start = StepTimings.start();
+        $$("h3").findBy(Condition.text(type.getHeading())).shouldBe(visible);
+        var form = $("form");
+        cardNumberField = form.$(Field.NUMBER.getSelector());
+        monthField = form.$(Field.MONTH.getSelector());
+        yearField = form.$(Field.YEAR.getSelector());
+        holderField = form.$(Field.HOLDER.getSelector());
+        cvcField = form.$(Field.CVC.getSelector());
+        continueButton = form.$$("button").findBy(Condition.text(CONTINUE_BUTTON_TEXT));
+        StepTimings.record("form page", start);
+    }
+
+    private static List<String> selectors() {
+        var selectors = new ArrayList<String>();
+        for (Field field : Field.values()) {
+            selectors.add(field.getSelector());
+        }
+        return selectors;
+    }
+
+    public static FillMode getFillMode() {
+        return fillMode.get();
+    }
+
+    public static void setFillMode(FillMode mode) {
+        fillMode.set(mode);
+    }
+
+    public static void resetFillMode() {
+        fillMode.remove();
+    }
+
+    public FormType getType() {
+        return type;
+    }
+
+    public void fulfillData(Card card) {
+        long start = StepTimings.start();
+        if (fillMode.get() == FillMode.FAST) {
+            fillFast(card);
+        } else {
+            cardNumberField.setValue(card.getNumber());
+            monthField.setValue(card.getMonth());
+            yearField.setValue(card.getYear());
+            holderField.setValue(card.getHolderName());
+            cvcField.setValue(card.getCvc());
+        }
+        executeJavaScript(ARM_NOTIFICATION_SCRIPT);
+        continueButton.click();
+        StepTimings.record("fill form", start);
+    }
+
+    // Messages left from the previous submission would satisfy the next check before the form is validated again,
+    // so the form must be free of them; if clearing the inputs does not drop them, the form is selected anew.
+    public void clearFields() {
+        fillFast(new Card(null, null, null, null, null));
+        if (awaitNoFieldMessages()) {
+            return;
+        }
+        var other = type == FormType.PAYMENT ? FormType.CREDIT : FormType.PAYMENT;
+        select(other);
+        select(type);
+        if (!awaitNoFieldMessages()) {
+            throw new AssertionError("Validation messages stayed after clearing the form: " + getFieldMessages());
+        }
+    }
+
+    private static void select(FormType form) {
+        $$("button").findBy(Condition.exactText(form == FormType.PAYMENT ? StartPage.BUY_TEXT : StartPage.CREDIT_TEXT)).click();
+        $$("h3").findBy(Condition.text(form.getHeading())).shouldBe(visible);
+    }
+
+    private boolean awaitNoFieldMessages() {
+        long deadline = System.nanoTime() + FIELD_RESET_TIMEOUT.toNanos();
+        while (getFieldMessages().values().stream().anyMatch(message -> message != null && !message.isEmpty())) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Selenide.sleep(50);
+        }
+        return true;
+    }
+
+    private void fillFast(Card card) {
+        var inputs = List.of(cardNumberField.toWebElement(), monthField.toWebElement(), yearField.toWebElement(),
+                holderField.toWebElement(), cvcField.toWebElement());
+        var values = Arrays.asList(card.getNumber(), card.getMonth(), card.getYear(), card.getHolderName(), card.getCvc());
+        executeJavaScript(FILL_SCRIPT, inputs, values);
+    }
+
+    public List<String> getMessages() {
+        return executeJavaScript(MESSAGES_SCRIPT);
+    }
+
+    public Map<Field, String> getFieldMessages() {
+        List<String> messages = executeJavaScript(FIELD_MESSAGES_SCRIPT, selectors());
+        var result = new EnumMap<Field, String>(Field.class);
+        for (Field field : Field.values()) {
+            result.put(field, messages.get(field.ordinal()));
+        }
+        return result;
+    }
+
+    public void checkFieldMessage(Field field, String expected) {
+        Selenide.Wait()
+                .withMessage(() -> field + " should have message \"" + expected + "\", but messages are " + getFieldMessages())
+                .until(driver -> expected.equalsIgnoreCase(getFieldMessages().get(field)));
+    }
+
+    private void checkMessage(String expected) {
+        Selenide.Wait()
+                .withMessage(() -> "First validation message should be \"" + expected + "\", but messages are " + getMessages())
+                .until(driver -> {
+                    var messages = getMessages();
+                    return !messages.isEmpty() && expected.equalsIgnoreCase(messages.get(0));
+                });
+    }
+
+    public NotificationResult awaitNotification(Duration timeout) {
+        var timeouts = WebDriverRunner.getWebDriver().manage().timeouts();
+        var previousTimeout = timeouts.getScriptTimeout();
+        timeouts.scriptTimeout(timeout.plusSeconds(5));
+        Map<String, Object> result;
+        try {
+            result = executeAsyncJavaScript(AWAIT_NOTIFICATION_SCRIPT, timeout.toMillis());
+        } finally {
+            timeouts.scriptTimeout(previousTimeout);
+        }
+        if (result == null) {
+            return null;
+        }
+        long elapsedMicros = Math.round(((Number) result.get("elapsed")).doubleValue() * 1000);
+        return new NotificationResult(NotificationResult.Outcome.valueOf((String) result.get("outcome")),
+                Duration.ofNanos(elapsedMicros * 1000));
+    }
+
+    private NotificationResult checkNotification(NotificationResult.Outcome expected, String selector) {
+        long start = StepTimings.start();
+        var result = awaitNotification(NOTIFICATION_TIMEOUT);
+        if (result == null) {
+            $(selector).shouldBe(Condition.visible, NOTIFICATION_TIMEOUT);
+            StepTimings.record("notification wait", start);
+            return null;
+        }
+        StepTimings.record("notification wait", start);
+        StepTimings.recordNanos("gate response", result.getElapsed().toNanos());
+        if (result.getOutcome() != expected) {
+            throw new AssertionError("Expected " + expected + " notification, but got " + result.getOutcome()
+                    + " after " + result.getElapsed().toMillis() + " ms");
+        }
+        $(selector).shouldBe(Condition.visible);
+        return result;
+    }
+
+    public NotificationResult checkSuccessNotification() {
+        return checkNotification(NotificationResult.Outcome.SUCCESS, ".notification_status_ok");
+    }
+
+    public NotificationResult checkDeclineNotification() {
+        return checkNotification(NotificationResult.Outcome.ERROR, ".notification_status_error");
+    }
+
+    public void checkInvalidFormat() {
+        checkMessage(ValidationMessage.INVALID_FORMAT.getText());
+    }
+
+    public void checkRequiredField() {
+        checkMessage(ValidationMessage.REQUIRED.getText());
+    }
+
+    public void checkInvalidDate() {
+        checkMessage(ValidationMessage.INVALID_DATE.getText());
+    }
+
+    public void checkExpiredDate() {
+        checkMessage(ValidationMessage.EXPIRED.getText());
+    }
+
+    public void checkInvalidName() {
+        checkMessage(ValidationMessage.FULL_NAME.getText());
+    }
+
+    public void checkLongName() {
+        checkMessage(ValidationMessage.TOO_LONG.getText());
+    }
+
+    public void checkInvalidDataName() {
+        checkMessage(ValidationMessage.LETTERS_AND_HYPHEN.getText());
+    }
+
+    public void checkShortName() {
+        checkMessage(ValidationMessage.MORE_THAN_ONE_LETTER.getText());
+    }
+
+    public void checkInvalidCvc() {
+        checkMessage(ValidationMessage.CVC_DIGITS.getText());
+    }
+
+    public void checkAllFieldsAreRequired() {
+        Selenide.Wait()
+                .withMessage(() -> "All fields should be required, but messages are " + getMessages())
+                .until(driver -> {
+                    var messages = getMessages();
+                    return messages.size() == Field.values().length
+                            && messages.stream().allMatch(ValidationMessage.REQUIRED.getText()::equalsIgnoreCase);
+                });
+    }
+
+}
@@ -0,0 +1,17 @@
+package ru.netology.domain.page;
+
+import java.util.Set;
+
+public enum DriverBackend {
+    CHROME,
+    HTMLUNIT;
+
+    public static final String DOM_TAG = "dom";
+
+    public static DriverBackend forTags(Set<String> tags) {
+        if (!Boolean.parseBoolean(System.getProperty("backend.dom.enabled", "true"))) {
+            return CHROME;
+        }
+        return tags.contains(DOM_TAG) ? HTMLUNIT : CHROME;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.netology.domain.page;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DriverBackendExtension implements BeforeEachCallback {
+    private static final ThreadLocal<Drivers> drivers = ThreadLocal.withInitial(Drivers::new);
+    private static final Set<WebDriver> created = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> created.forEach(DriverBackendExtension::quit)));
+    }
+
+    private static class Drivers {
+        private DriverBackend active = DriverBackend.CHROME;
+        private WebDriver chrome;
+        private WebDriver htmlUnit;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        var wanted = DriverBackend.forTags(context.getTags());
+        var current = drivers.get();
+        if (wanted == current.active) {
+            return;
+        }
+        if (wanted == DriverBackend.HTMLUNIT) {
+            if (WebDriverRunner.hasWebDriverStarted()) {
+                current.chrome = WebDriverRunner.getWebDriver();
+                created.add(current.chrome);
+            }
+            if (current.htmlUnit == null) {
+                current.htmlUnit = new HtmlUnitDriver(BrowserVersion.CHROME, true);
+                created.add(current.htmlUnit);
+            }
+            WebDriverRunner.setWebDriver(current.htmlUnit);
+        } else if (current.chrome != null) {
+            WebDriverRunner.setWebDriver(current.chrome);
+        } else {
+            WebDriverRunner.closeWebDriver();
+            quit(current.htmlUnit);
+            created.remove(current.htmlUnit);
+            current.htmlUnit = null;
+        }
+        current.active = wanted;
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.netology.domain.page;
+
+public enum FillMode {
+    REALISTIC,
+    FAST;
+
+    public static FillMode fromSystemProperties() {
+        return valueOf(System.getProperty("form.fill", "realistic").toUpperCase());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.netology.domain.page;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+public class FormFillExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        var annotation = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), FormFill.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), FormFill.class));
+        annotation.ifPresent(formFill -> CardFormPage.setFillMode(formFill.value()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CardFormPage.resetFillMode();
+    }
+}
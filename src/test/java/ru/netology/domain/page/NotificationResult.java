@@ -0,0 +1,17 @@
+package ru.netology.domain.page;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class NotificationResult {
+    public enum Outcome {
+        SUCCESS,
+        ERROR,
+        TIMEOUT
+    }
+
+    Outcome outcome;
+    Duration elapsed;
+}
@@ -2,15 +2,22 @@ package ru.netology.domain.page;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import ru.netology.domain.timing.StepTimings;
+
 import static com.codeborne.selenide.Selenide.$$;
 
 public class StartPage {
+    static final String BUY_TEXT = "Купить";
+    static final String CREDIT_TEXT = "Купить в кредит";
+
     private final SelenideElement heading = $$("h2").findBy(Condition.text("Путешествие дня"));
-    private final SelenideElement buyButton = $$("button").findBy(Condition.text("Купить"));
-    private final SelenideElement creditButton = $$("button").findBy(Condition.text("Купить в кредит"));
+    private final SelenideElement buyButton = $$("button").findBy(Condition.text(BUY_TEXT));
+    private final SelenideElement creditButton = $$("button").findBy(Condition.text(CREDIT_TEXT));
 
     public StartPage() {
+        long start = StepTimings.start();
         heading.shouldBe(Condition.visible);
+        StepTimings.record("start page", start);
     }
 
     public PaymentPage buy() {
@@ -0,0 +1,13 @@
+package ru.netology.domain.scenario;
+
+import lombok.Value;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.page.CardFormPage;
+
+@Value
+public class ValidationScenario {
+    String name;
+    Card card;
+    CardFormPage.Field field;
+    String message;
+}
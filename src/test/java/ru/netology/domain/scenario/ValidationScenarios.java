@@ -0,0 +1,83 @@
+package ru.netology.domain.scenario;
+
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DataGenerator;
+import ru.netology.domain.page.CardFormPage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class ValidationScenarios {
+    private static final Map<String, Supplier<String>> TOKENS = Map.ofEntries(
+            Map.entry("null", () -> null),
+            Map.entry("approvedNumber", DataGenerator::getApprovedNumber),
+            Map.entry("declinedNumber", DataGenerator::getDeclinedNumber),
+            Map.entry("invalidCardNumber", DataGenerator::getInvalidCardNumber),
+            Map.entry("shortNumber", DataGenerator::getShortCardNumber),
+            Map.entry("currentMonth", DataGenerator::getCurrentMonth),
+            Map.entry("lastMonth", DataGenerator::getLastMonth),
+            Map.entry("currentYear", DataGenerator::getCurrentYear),
+            Map.entry("lastYear", DataGenerator::getLastYear),
+            Map.entry("nextYear", DataGenerator::getNextYear),
+            Map.entry("validName", DataGenerator::getValidName),
+            Map.entry("validNameInLatinLetters", DataGenerator::getValidNameInLatinLetters),
+            Map.entry("onlyName", DataGenerator::getOnlyName),
+            Map.entry("onlyNameInLatin", DataGenerator::getOnlyNameInLatin),
+            Map.entry("onlyLastname", DataGenerator::getOnlyLastname),
+            Map.entry("onlyLastnameInLatin", DataGenerator::getOnlyLastnameInLatin),
+            Map.entry("tooLongName", DataGenerator::getTooLongName),
+            Map.entry("nameWithNumbers", DataGenerator::getNameWithNumbers),
+            Map.entry("nameWithOneLetter", DataGenerator::getNameWithOneLetter),
+            Map.entry("validCvc", DataGenerator::getValidCvc),
+            Map.entry("cvcWithOneDigit", DataGenerator::getCvcWithOneDigit),
+            Map.entry("cvcWithTwoDigits", DataGenerator::getCvcWithTwoDigits));
+
+    private ValidationScenarios() {
+    }
+
+    public static List<ValidationScenario> load(String resource) {
+        var stream = ValidationScenarios.class.getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IllegalArgumentException("Scenario file not found: " + resource);
+        }
+        var scenarios = new ArrayList<ValidationScenario>();
+        try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                var columns = line.split(";", -1);
+                if (columns.length != 8) {
+                    throw new IllegalArgumentException(resource + ":" + lineNumber + " should have 8 columns, but has " + columns.length);
+                }
+                var card = new Card(resolve(columns[1]), resolve(columns[2]), resolve(columns[3]), resolve(columns[4]), resolve(columns[5]));
+                scenarios.add(new ValidationScenario(columns[0], card, CardFormPage.Field.valueOf(columns[6]), columns[7]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return scenarios;
+    }
+
+    private static String resolve(String value) {
+        if (!value.startsWith("${") || !value.endsWith("}")) {
+            return value;
+        }
+        var token = value.substring(2, value.length() - 1);
+        var supplier = TOKENS.get(token);
+        if (supplier == null) {
+            throw new IllegalArgumentException("Unknown scenario token: " + value);
+        }
+        return supplier.get();
+    }
+}
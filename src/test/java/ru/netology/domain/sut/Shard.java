@@ -0,0 +1,72 @@
+package ru.netology.domain.sut;
+
+import ru.netology.domain.data.DbProfile;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class Shard {
+    private final int index;
+    private final FileLock lock;
+
+    private Shard(int index, FileLock lock) {
+        this.index = index;
+        this.lock = lock;
+    }
+
+    public static int getCount() {
+        return Integer.getInteger("shards", 1);
+    }
+
+    public static Shard acquire() throws IOException {
+        var dir = Path.of(System.getProperty("shard.lockDir", "build/shards"));
+        Files.createDirectories(dir);
+        int count = getCount();
+        for (int i = 0; i < count; i++) {
+            var channel = FileChannel.open(dir.resolve("shard-" + i + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            var lock = channel.tryLock();
+            if (lock != null) {
+                return new Shard(i, lock);
+            }
+            channel.close();
+        }
+        throw new IllegalStateException("All " + count + " shard slots are taken");
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getSchema() {
+        return System.getProperty("shard.schemaPrefix", "app_shard") + index;
+    }
+
+    public String getDbUrl() {
+        var base = DbProfile.current().getUrl();
+        int schemaStart = base.indexOf('/', "jdbc:mysql://".length());
+        int paramsStart = base.indexOf('?');
+        var params = paramsStart < 0 ? "" : base.substring(paramsStart);
+        return base.substring(0, schemaStart + 1) + getSchema() + params;
+    }
+
+    public int getSutPort() {
+        return Integer.getInteger("shard.sutBasePort", 8081) + index;
+    }
+
+    public int getGatePort() {
+        return Integer.getInteger("shard.gateBasePort", 10000) + index;
+    }
+
+    public int getJmxPort() {
+        return Integer.getInteger("shard.jmxBasePort", 11000) + index;
+    }
+
+    public void release() throws IOException {
+        lock.release();
+        lock.channel().close();
+    }
+}
@@ -0,0 +1,67 @@
+package ru.netology.domain.sut;
+
+import org.apache.commons.dbutils.QueryRunner;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.domain.data.DbProfile;
+
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+public class ShardExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ShardExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (Shard.getCount() <= 1) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Shard.class, key -> start(), Resource.class);
+    }
+
+    private static Resource start() {
+        try {
+            var shard = Shard.acquire();
+            createSchema(shard);
+            System.setProperty("db.url", shard.getDbUrl());
+            System.setProperty("gate.port", Integer.toString(shard.getGatePort()));
+            var sut = SutLauncher.start("shard-" + shard.getIndex(), shard.getSutPort(), shard.getDbUrl(),
+                    "http://localhost:" + shard.getGatePort(), shard.getJmxPort());
+            System.setProperty("sut.url", sut.getUrl());
+            System.setProperty("sut.name", "shard-" + shard.getIndex());
+            if (sut.getJmxPort() > 0) {
+                System.setProperty("sut.jmx.port", Integer.toString(sut.getJmxPort()));
+            }
+            return new Resource(shard, sut);
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Could not provision shard", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting shard", e);
+        }
+    }
+
+    private static void createSchema(Shard shard) throws SQLException {
+        var profile = DbProfile.current();
+        try (var conn = DriverManager.getConnection(profile.getUrl(), profile.getUser(), profile.getPassword())) {
+            new QueryRunner().update(conn, "CREATE DATABASE IF NOT EXISTS `" + shard.getSchema() + "`");
+        }
+    }
+
+    private static class Resource implements ExtensionContext.Store.CloseableResource {
+        private final Shard shard;
+        private final SutLauncher sut;
+
+        private Resource(Shard shard, SutLauncher sut) {
+            this.shard = shard;
+            this.sut = sut;
+        }
+
+        @Override
+        public void close() throws IOException {
+            sut.stop();
+            shard.release();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.netology.domain.sut;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.domain.data.DbProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class SutExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SutExtension.class);
+    private static final String TEST_START = "testStart";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Resource.class, key -> start(), Resource.class);
+    }
+
+    private static Resource start() {
+        SutLauncher sut = null;
+        try {
+            if (Shard.getCount() <= 1 && Boolean.getBoolean("sut.launch")) {
+                int port = Integer.getInteger("sut.port", 8080);
+                sut = SutLauncher.start(System.getProperty("sut.name", "sut"), port, DbProfile.current().getUrl(),
+                        "http://localhost:" + Integer.getInteger("gate.port", 9999), Integer.getInteger("sut.jmx.port", 9010));
+                System.setProperty("sut.url", sut.getUrl());
+                if (sut.getJmxPort() > 0) {
+                    System.setProperty("sut.jmx.port", Integer.toString(sut.getJmxPort()));
+                }
+            }
+            var jmxPort = Integer.getInteger("sut.jmx.port");
+            SutTelemetry telemetry = null;
+            if (jmxPort != null) {
+                telemetry = SutTelemetry.connect(jmxPort, Duration.ofMillis(Long.getLong("sut.telemetry.interval", 500)));
+            }
+            return new Resource(sut, telemetry);
+        } catch (IOException e) {
+            if (sut != null) {
+                sut.stop();
+            }
+            throw new IllegalStateException("Could not start SUT telemetry", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting SUT", e);
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(TEST_START, System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws IOException {
+        var resource = context.getRoot().getStore(NAMESPACE).get(Resource.class, Resource.class);
+        if (resource == null || resource.telemetry == null) {
+            return;
+        }
+        var start = context.getStore(NAMESPACE).remove(TEST_START, Long.class);
+        if (start == null) {
+            return;
+        }
+        long end = System.currentTimeMillis();
+        var samples = resource.telemetry.between(start, end);
+        Allure.addAttachment("SUT telemetry", "text/csv", SutTelemetry.toCsv(samples), ".csv");
+        if (context.getExecutionException().isPresent() && dumpOnFailure()) {
+            var file = Path.of(System.getProperty("sut.logDir", "build/sut"), "recordings",
+                    context.getUniqueId().replaceAll("[^A-Za-z0-9._-]+", "_") + ".jfr");
+            resource.telemetry.dumpRecording(file, start, end);
+            try (var recording = Files.newInputStream(file)) {
+                Allure.addAttachment("SUT flight recording", "application/octet-stream", recording, ".jfr");
+            }
+        }
+    }
+
+    // A SUT launched by the tests runs on this host, so streaming its slice is cheap; for an external SUT it is opt-in.
+    private static boolean dumpOnFailure() {
+        boolean launched = Boolean.getBoolean("sut.launch") || Shard.getCount() > 1;
+        return Boolean.parseBoolean(System.getProperty("sut.jfr.onFailure", Boolean.toString(launched)));
+    }
+
+    private static class Resource implements ExtensionContext.Store.CloseableResource {
+        private final SutLauncher sut;
+        private final SutTelemetry telemetry;
+
+        private Resource(SutLauncher sut, SutTelemetry telemetry) {
+            this.sut = sut;
+            this.telemetry = telemetry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (telemetry != null) {
+                var file = Path.of(System.getProperty("sut.logDir", "build/sut"), System.getProperty("sut.name", "sut") + "-telemetry.csv");
+                telemetry.writeCsv(file);
+                System.out.println(SutTelemetry.summary(telemetry.all()) + ", written to " + file);
+                telemetry.close();
+            }
+            if (sut != null) {
+                sut.stop();
+            }
+        }
+    }
+}
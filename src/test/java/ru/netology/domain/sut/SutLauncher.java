@@ -0,0 +1,136 @@
+package ru.netology.domain.sut;
+
+import ru.netology.domain.data.DbProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SutLauncher {
+    private final Process process;
+    private final String url;
+    private final int jmxPort;
+    private final Path recording;
+
+    private SutLauncher(Process process, String url, int jmxPort, Path recording) {
+        this.process = process;
+        this.url = url;
+        this.jmxPort = jmxPort;
+        this.recording = recording;
+    }
+
+    public static SutLauncher start(String name, int port, String dbUrl, String gateUrl) throws IOException, InterruptedException {
+        return start(name, port, dbUrl, gateUrl, 0);
+    }
+
+    public static SutLauncher start(String name, int port, String dbUrl, String gateUrl, int jmxPort) throws IOException, InterruptedException {
+        var jar = Path.of(System.getProperty("sut.jar", "artifacts/aqa-shop.jar"));
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("SUT jar not found: " + jar.toAbsolutePath());
+        }
+        var log = Path.of(System.getProperty("sut.logDir", "build/sut"), name + ".log");
+        Files.createDirectories(log.getParent());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path recording = null;
+        if (Boolean.parseBoolean(System.getProperty("sut.telemetry", "true"))) {
+            recording = log.resolveSibling(name + ".jfr").toAbsolutePath();
+            command.add("-XX:StartFlightRecording=name=" + SutTelemetry.RECORDING + ",filename=" + recording
+                    + ",settings=" + System.getProperty("sut.jfr.settings", "profile") + ",dumponexit=true");
+            if (jmxPort > 0) {
+                command.add("-Dcom.sun.management.jmxremote.port=" + jmxPort);
+                command.add("-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort);
+                command.add("-Dcom.sun.management.jmxremote.authenticate=false");
+                command.add("-Dcom.sun.management.jmxremote.ssl=false");
+                command.add("-Djava.rmi.server.hostname=localhost");
+            }
+        } else {
+            jmxPort = 0;
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=" + dbUrl);
+        var profile = DbProfile.current();
+        if (!profile.isDurable()) {
+            command.add("--spring.profiles.active=" + profile.getName());
+        }
+        command.add("--spring.datasource.username=" + profile.getUser());
+        command.add("--spring.datasource.password=" + profile.getPassword());
+        command.add("--spring.payment-gate.url=" + gateUrl + "/payment");
+        command.add("--spring.credit-gate.url=" + gateUrl + "/credit");
+
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .directory(new File("."))
+                .start();
+        var launcher = new SutLauncher(process, "http://localhost:" + port, jmxPort, recording);
+        launcher.awaitStarted(Long.getLong("sut.startTimeout", 90), log);
+        System.out.println("SUT " + name + " started at " + launcher.url + ", log: " + log);
+        return launcher;
+    }
+
+    private void awaitStarted(long timeoutSeconds, Path log) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("SUT exited with code " + process.exitValue() + ", see " + log);
+            }
+            if (responds()) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        stop();
+        throw new IllegalStateException("SUT did not start in " + timeoutSeconds + " s, see " + log);
+    }
+
+    private boolean responds() {
+        try {
+            var connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(500);
+            connection.setReadTimeout(500);
+            int code = connection.getResponseCode();
+            connection.disconnect();
+            return code < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getJmxPort() {
+        return jmxPort;
+    }
+
+    public Path getRecording() {
+        return recording;
+    }
+
+    public long getPid() {
+        return process.pid();
+    }
+
+    public void stop() {
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package ru.netology.domain.sut;
+
+import com.sun.management.OperatingSystemMXBean;
+import jdk.management.jfr.FlightRecorderMXBean;
+
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SutTelemetry implements AutoCloseable {
+    public static final String RECORDING = "sut";
+
+    public static class Sample {
+        private final long time;
+        private final long heapUsed;
+        private final long heapCommitted;
+        private final long gcCount;
+        private final long gcMillis;
+        private final int threads;
+        private final double cpu;
+
+        private Sample(long time, long heapUsed, long heapCommitted, long gcCount, long gcMillis, int threads, double cpu) {
+            this.time = time;
+            this.heapUsed = heapUsed;
+            this.heapCommitted = heapCommitted;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.threads = threads;
+            this.cpu = cpu;
+        }
+    }
+
+    private final JMXConnector connector;
+    private final MBeanServerConnection connection;
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors = new ArrayList<>();
+    private final ThreadMXBean threads;
+    private final OperatingSystemMXBean os;
+    private final List<Sample> samples = new ArrayList<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "sut-telemetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SutTelemetry(JMXConnector connector) throws IOException, JMException {
+        this.connector = connector;
+        connection = connector.getMBeanServerConnection();
+        memory = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        threads = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+        os = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME, OperatingSystemMXBean.class);
+        for (ObjectName name : connection.queryNames(new ObjectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null)) {
+            collectors.add(ManagementFactory.newPlatformMXBeanProxy(connection, name.toString(), GarbageCollectorMXBean.class));
+        }
+    }
+
+    public static SutTelemetry connect(int jmxPort, Duration interval) throws IOException {
+        var url = new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + jmxPort + "/jmxrmi");
+        var connector = JMXConnectorFactory.connect(url);
+        try {
+            var telemetry = new SutTelemetry(connector);
+            telemetry.sampler.scheduleAtFixedRate(telemetry::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+            return telemetry;
+        } catch (JMException e) {
+            connector.close();
+            throw new IOException("Could not read SUT MBeans on JMX port " + jmxPort, e);
+        }
+    }
+
+    private void sample() {
+        try {
+            var heap = memory.getHeapMemoryUsage();
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean collector : collectors) {
+                gcCount += Math.max(collector.getCollectionCount(), 0);
+                gcMillis += Math.max(collector.getCollectionTime(), 0);
+            }
+            var sample = new Sample(System.currentTimeMillis(), heap.getUsed(), heap.getCommitted(), gcCount, gcMillis,
+                    threads.getThreadCount(), os.getProcessCpuLoad());
+            synchronized (samples) {
+                samples.add(sample);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("SUT telemetry sample failed: " + e);
+        }
+    }
+
+    public List<Sample> between(long from, long to) {
+        var result = new ArrayList<Sample>();
+        synchronized (samples) {
+            Sample previous = null;
+            for (Sample sample : samples) {
+                if (sample.time >= from && sample.time <= to) {
+                    if (result.isEmpty() && previous != null) {
+                        result.add(previous);
+                    }
+                    result.add(sample);
+                }
+                previous = sample;
+            }
+        }
+        return result;
+    }
+
+    public List<Sample> all() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    public static String toCsv(List<Sample> samples) {
+        var csv = new StringBuilder("time,heap_used_mb,heap_committed_mb,gc_count,gc_ms,threads,cpu_percent\n");
+        Sample previous = null;
+        for (Sample sample : samples) {
+            csv.append(String.format("%d,%.1f,%.1f,%d,%d,%d,%.1f%n",
+                    sample.time,
+                    sample.heapUsed / 1048576.0,
+                    sample.heapCommitted / 1048576.0,
+                    previous == null ? 0 : sample.gcCount - previous.gcCount,
+                    previous == null ? 0 : sample.gcMillis - previous.gcMillis,
+                    sample.threads,
+                    Math.max(sample.cpu, 0) * 100));
+            previous = sample;
+        }
+        return csv.toString();
+    }
+
+    public static String summary(List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return "SUT telemetry: no samples";
+        }
+        var first = samples.get(0);
+        var last = samples.get(samples.size() - 1);
+        long maxHeap = 0;
+        int maxThreads = 0;
+        double cpu = 0;
+        for (Sample sample : samples) {
+            maxHeap = Math.max(maxHeap, sample.heapUsed);
+            maxThreads = Math.max(maxThreads, sample.threads);
+            cpu += Math.max(sample.cpu, 0);
+        }
+        return String.format("SUT telemetry: %d samples, max heap %.1f MB, %d GCs taking %d ms, max threads %d, avg CPU %.1f%%",
+                samples.size(), maxHeap / 1048576.0, last.gcCount - first.gcCount, last.gcMillis - first.gcMillis,
+                maxThreads, cpu / samples.size() * 100);
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, toCsv(all()), StandardCharsets.UTF_8);
+    }
+
+    public Path dumpRecording(Path file) throws IOException {
+        return dumpRecording(file, Map.of());
+    }
+
+    // JFR filters by chunk, so the slice covers whole chunks that overlap the window (one per recording rotation).
+    public Path dumpRecording(Path file, long from, long to) throws IOException {
+        return dumpRecording(file, Map.of("startTime", Long.toString(from), "endTime", Long.toString(to)));
+    }
+
+    // The recording is streamed over JMX, so the file lands here even when the SUT runs on another host.
+    private Path dumpRecording(Path file, Map<String, String> streamOptions) throws IOException {
+        var target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        var recorder = ManagementFactory.newPlatformMXBeanProxy(connection, "jdk.management.jfr:type=FlightRecorder", FlightRecorderMXBean.class);
+        long snapshot = recorder.takeSnapshot();
+        try (var out = Files.newOutputStream(target)) {
+            long stream = recorder.openStream(snapshot, streamOptions);
+            try {
+                for (byte[] block = recorder.readStream(stream); block != null; block = recorder.readStream(stream)) {
+                    out.write(block);
+                }
+            } finally {
+                recorder.closeStream(stream);
+            }
+        } finally {
+            recorder.closeRecording(snapshot);
+        }
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sampler.shutdownNow();
+        connector.close();
+    }
+}
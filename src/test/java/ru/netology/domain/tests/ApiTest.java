@@ -0,0 +1,74 @@
+package ru.netology.domain.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.netology.domain.api.ApiClient;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DbCleanupExtension;
+import ru.netology.domain.data.DbUtils;
+import ru.netology.domain.gate.GateEmulatorExtension;
+import ru.netology.domain.sut.ShardExtension;
+import ru.netology.domain.sut.SutExtension;
+import ru.netology.domain.timing.StepTimingExtension;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.netology.domain.data.DataGenerator.*;
+
+@ExtendWith({ShardExtension.class, GateEmulatorExtension.class, SutExtension.class, StepTimingExtension.class, DbCleanupExtension.class})
+@ResourceLock(DbUtils.PURCHASE_DB)
+public class ApiTest {
+
+    //PaymentGate
+    @Test
+    void shouldBuyInPaymentGateViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+        assertEquals("APPROVED", ApiClient.getPaymentStatus(card));
+        assertEquals("APPROVED", DbUtils.getPaymentStatus(since));
+    }
+
+    @Test
+    void shouldBuyInPaymentGateWithNameInLatinLettersViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidNameInLatinLetters(), getValidCvc());
+        assertEquals("APPROVED", ApiClient.getPaymentStatus(card));
+        assertEquals("APPROVED", DbUtils.getPaymentStatus(since));
+    }
+
+    @Test
+    void shouldNotBuyInPaymentGateWithDeclinedCardNumberViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getDeclinedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+        assertEquals("DECLINED", ApiClient.getPaymentStatus(card));
+        assertEquals("DECLINED", DbUtils.getPaymentStatus(since));
+    }
+
+
+    //CreditGate
+    @Test
+    void shouldBuyInCreditGateViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+        assertEquals("APPROVED", ApiClient.getCreditStatus(card));
+        assertEquals("APPROVED", DbUtils.getCreditStatus(since));
+    }
+
+    @Test
+    void shouldBuyInCreditGateWithNameInLatinLettersViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidNameInLatinLetters(), getValidCvc());
+        assertEquals("APPROVED", ApiClient.getCreditStatus(card));
+        assertEquals("APPROVED", DbUtils.getCreditStatus(since));
+    }
+
+    @Test
+    void shouldNotBuyInCreditGateWithDeclinedCardNumberViaApi() throws SQLException {
+        var since = DbUtils.getCheckpoint();
+        Card card = new Card(getDeclinedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+        assertEquals("DECLINED", ApiClient.getCreditStatus(card));
+        assertEquals("DECLINED", DbUtils.getCreditStatus(since));
+    }
+}
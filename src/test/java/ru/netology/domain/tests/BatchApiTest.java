@@ -0,0 +1,38 @@
+package ru.netology.domain.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.netology.domain.api.ApiClient;
+import ru.netology.domain.data.BatchVerifier;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DbCleanupExtension;
+import ru.netology.domain.data.DbUtils;
+import ru.netology.domain.gate.GateEmulatorExtension;
+import ru.netology.domain.sut.ShardExtension;
+import ru.netology.domain.sut.SutExtension;
+import ru.netology.domain.timing.StepTimingExtension;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.netology.domain.data.DataGenerator.*;
+
+@ExtendWith({ShardExtension.class, GateEmulatorExtension.class, SutExtension.class, StepTimingExtension.class, DbCleanupExtension.class})
+@Isolated
+public class BatchApiTest {
+
+    @Test
+    void shouldStoreEveryPurchaseOfBatchViaApi() throws SQLException, InterruptedException {
+        var verifier = DbUtils.batchVerifier(DbUtils.getExclusiveCheckpoint());
+        for (int i = 0; i < 10; i++) {
+            Card approved = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+            Card declined = new Card(getDeclinedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
+            assertEquals("APPROVED", ApiClient.getPaymentStatus(approved));
+            verifier.expect(BatchVerifier.Kind.PAYMENT, "APPROVED");
+            assertEquals("DECLINED", ApiClient.getCreditStatus(declined));
+            verifier.expect(BatchVerifier.Kind.CREDIT, "DECLINED");
+        }
+        verifier.verify().assertOk();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.netology.domain.tests;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.netology.domain.data.Card;
+import ru.netology.domain.data.CardValidator;
+import ru.netology.domain.data.DataGenerator;
+import ru.netology.domain.data.ValidationMessage;
+import ru.netology.domain.scenario.ValidationScenarios;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Isolated
+public class CardValidatorTest {
+    private static final long SEED = 19;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final Clock CLOCK = Clock.fixed(LocalDate.of(2022, 6, 15).atStartOfDay(ZONE).toInstant(), ZONE);
+
+    private Clock previousClock;
+    private final CardValidator validator = new CardValidator(CLOCK);
+
+    @BeforeEach
+    void setUp() {
+        previousClock = DataGenerator.getClock();
+        DataGenerator.setClock(CLOCK);
+        DataGenerator.setSeed(SEED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataGenerator.setClock(previousClock);
+        DataGenerator.resetSeed();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldAgreeWithValidationScenarios() {
+        return ValidationScenarios.load("/scenarios/validation.csv").stream()
+                .map(scenario -> DynamicTest.dynamicTest(scenario.getName(), () -> {
+                    var field = CardValidator.Field.valueOf(scenario.getField().name());
+                    var message = validator.validate(scenario.getCard(), field);
+                    assertNotNull(message, scenario.getCard().toString());
+                    assertEquals(scenario.getMessage(), message.getText(), scenario.getCard().toString());
+                }));
+    }
+
+    @Test
+    void shouldAcceptValidCards() {
+        for (int i = 0; i < 1000; i++) {
+            var card = new Card(DataGenerator.getApprovedNumber(), DataGenerator.getCurrentMonth(),
+                    DataGenerator.getNextYear(), DataGenerator.getValidName(), DataGenerator.getValidCvc());
+            assertNull(validator.validate(card), card.toString());
+        }
+    }
+
+    @Test
+    void shouldAcceptBoundaryDates() {
+        assertNull(validator.validateMonth("06", "22"));
+        assertNull(validator.validateYear("27"));
+        assertEquals(ValidationMessage.EXPIRED, validator.validateMonth("05", "22"));
+        assertEquals(ValidationMessage.INVALID_DATE, validator.validateYear("28"));
+        assertEquals(ValidationMessage.INVALID_FORMAT, validator.validateYear("2"));
+    }
+
+    @Test
+    void shouldReportEveryFieldInFormOrder() {
+        var card = new Card("4444 4444 4444 444", "13", "21", "Иван", "1");
+        var byField = new ValidationMessage[CardValidator.Field.values().length];
+        assertEquals(ValidationMessage.INVALID_FORMAT, validator.validate(card, byField));
+        assertArrayEquals(new ValidationMessage[]{
+                ValidationMessage.INVALID_FORMAT,
+                ValidationMessage.INVALID_DATE,
+                ValidationMessage.EXPIRED,
+                ValidationMessage.FULL_NAME,
+                ValidationMessage.CVC_DIGITS
+        }, byField);
+    }
+}
@@ -3,61 +3,71 @@ package ru.netology.domain.tests;
 import com.codeborne.selenide.logevents.SelenideLogger;
 import io.qameta.allure.selenide.AllureSelenide;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DbCleanupExtension;
 import ru.netology.domain.data.DbUtils;
+import ru.netology.domain.gate.GateEmulatorExtension;
+import ru.netology.domain.page.BrowserSession;
+import ru.netology.domain.page.DriverBackend;
+import ru.netology.domain.page.DriverBackendExtension;
 import ru.netology.domain.page.CreditPage;
 import ru.netology.domain.page.StartPage;
+import ru.netology.domain.sut.ShardExtension;
+import ru.netology.domain.sut.SutExtension;
+import ru.netology.domain.timing.StepTimingExtension;
 
 import java.sql.SQLException;
 
-import static com.codeborne.selenide.Selenide.open;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static ru.netology.domain.data.DataGenerator.*;
 
+@ExtendWith({ShardExtension.class, GateEmulatorExtension.class, SutExtension.class, StepTimingExtension.class, DriverBackendExtension.class, DbCleanupExtension.class})
 public class CreditTest {
-    @BeforeAll
-    static void setUpAll() {
-        SelenideLogger.addListener("allure", new AllureSelenide());
-    }
-
     @BeforeEach
     void setUp() {
-        open("http://localhost:8080");
-        DbUtils.clearTables();
+        SelenideLogger.addListener("allure", new AllureSelenide());
+        BrowserSession.open();
     }
 
-    @AfterAll
-    static void tearDownAll() {
+    @AfterEach
+    void tearDown() {
         SelenideLogger.removeListener("allure");
     }
 
     //HappyPath
     //passed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldBuyInCreditGate() throws SQLException {
+        var since = DbUtils.getCheckpoint();
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
         startPage.buyInCredit();
         var creditPage = new CreditPage();
         creditPage.fulfillData(card);
         creditPage.checkSuccessNotification();
-        assertEquals("APPROVED", DbUtils.getCreditStatus());
+        assertEquals("APPROVED", DbUtils.getCreditStatus(since));
     }
 
     //passed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldBuyInCreditGateWithNameInLatinLetters() throws SQLException {
+        var since = DbUtils.getCheckpoint();
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidNameInLatinLetters(), getValidCvc());
         var startPage = new StartPage();
         startPage.buyInCredit();
         var creditPage = new CreditPage();
         creditPage.fulfillData(card);
         creditPage.checkSuccessNotification();
-        assertEquals("APPROVED", DbUtils.getCreditStatus());
+        assertEquals("APPROVED", DbUtils.getCreditStatus(since));
     }
 
     //failed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldNotBuyInCreditGateWithDeclinedCardNumber() throws SQLException {
         Card card = new Card(getDeclinedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -71,6 +81,7 @@ public class CreditTest {
     //CardNumberField
     //failed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldNotBuyInCreditGateWithInvalidCardNumber() throws SQLException {
         Card card = new Card(getInvalidCardNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -83,6 +94,7 @@ public class CreditTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithShortCardNumber() {
         Card card = new Card(getShortCardNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -94,6 +106,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithEmptyCardNumber() {
         Card card = new Card(null, getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -106,6 +119,7 @@ public class CreditTest {
     //MonthField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithInvalidMonth() {
         Card card = new Card(getApprovedNumber(), "00", getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -117,6 +131,7 @@ public class CreditTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithNonExistingMonth() {
         Card card = new Card(getApprovedNumber(), "13", getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -129,6 +144,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithExpiredMonth() {
         Card card = new Card(getApprovedNumber(), getLastMonth(), getCurrentYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -140,6 +156,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithEmptyMonth() {
         Card card = new Card(getApprovedNumber(), null, getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -152,6 +169,7 @@ public class CreditTest {
     //YearField
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithExpiredYear() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getLastYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -163,6 +181,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithEmptyYear() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), null, getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -175,6 +194,7 @@ public class CreditTest {
     //NameField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithOnlyName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyName(), getValidCvc());
         var startPage = new StartPage();
@@ -186,6 +206,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithOnlyNameInLatinLetters() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyNameInLatin(), getValidCvc());
         var startPage = new StartPage();
@@ -197,6 +218,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithOnlySurname() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyLastname(), getValidCvc());
         var startPage = new StartPage();
@@ -208,6 +230,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithOnlySurnameInLatinLetters() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyLastnameInLatin(), getValidCvc());
         var startPage = new StartPage();
@@ -219,6 +242,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithNameAndSurnameWithDash() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), "Иван-Иванов", getValidCvc());
         var startPage = new StartPage();
@@ -230,6 +254,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithTooLongName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getTooLongName(), getValidCvc());
         var startPage = new StartPage();
@@ -241,6 +266,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithDigitsInName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getNameWithNumbers(), getValidCvc());
         var startPage = new StartPage();
@@ -252,6 +278,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithTooShortName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getNameWithOneLetter(), getValidCvc());
         var startPage = new StartPage();
@@ -263,6 +290,7 @@ public class CreditTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithEmptyName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), null, getValidCvc());
         var startPage = new StartPage();
@@ -274,6 +302,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithSpaceInsteadOfName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), " ", getValidCvc());
         var startPage = new StartPage();
@@ -286,6 +315,7 @@ public class CreditTest {
     //CVC/CVVField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithOneDigitInCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getCvcWithOneDigit());
         var startPage = new StartPage();
@@ -297,6 +327,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithTwoDigitsInCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getCvcWithTwoDigits());
         var startPage = new StartPage();
@@ -308,6 +339,7 @@ public class CreditTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithEmptyCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), null);
         var startPage = new StartPage();
@@ -320,6 +352,7 @@ public class CreditTest {
     //AllEmptyFields
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInCreditGateWithAllEmptyFields() {
         Card card = new Card(null, null, null, null, null);
         var startPage = new StartPage();
@@ -0,0 +1,23 @@
+package ru.netology.domain.tests;
+
+import org.junit.jupiter.api.Test;
+import ru.netology.domain.page.CardFormPage;
+import ru.netology.domain.page.FillMode;
+import ru.netology.domain.page.FormFill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@FormFill(FillMode.FAST)
+public class FormFillTest {
+
+    @Test
+    void shouldUseClassFillMode() {
+        assertEquals(FillMode.FAST, CardFormPage.getFillMode());
+    }
+
+    @Test
+    @FormFill(FillMode.REALISTIC)
+    void shouldPreferMethodFillMode() {
+        assertEquals(FillMode.REALISTIC, CardFormPage.getFillMode());
+    }
+}
@@ -3,77 +3,89 @@ package ru.netology.domain.tests;
 import com.codeborne.selenide.logevents.SelenideLogger;
 import io.qameta.allure.selenide.AllureSelenide;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import ru.netology.domain.data.Card;
+import ru.netology.domain.data.DbCleanupExtension;
 import ru.netology.domain.data.DbUtils;
+import ru.netology.domain.gate.GateEmulatorExtension;
+import ru.netology.domain.page.BrowserSession;
+import ru.netology.domain.page.DriverBackend;
+import ru.netology.domain.page.DriverBackendExtension;
 import ru.netology.domain.page.PaymentPage;
 import ru.netology.domain.page.StartPage;
+import ru.netology.domain.sut.ShardExtension;
+import ru.netology.domain.sut.SutExtension;
+import ru.netology.domain.timing.StepTimingExtension;
 
 import java.sql.SQLException;
 
-import static com.codeborne.selenide.Selenide.open;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static ru.netology.domain.data.DataGenerator.*;
 
 
+@ExtendWith({ShardExtension.class, GateEmulatorExtension.class, SutExtension.class, StepTimingExtension.class, DriverBackendExtension.class, DbCleanupExtension.class})
 public class PaymentTest {
 
-    @BeforeAll
-    static void setUpAll() {
-        SelenideLogger.addListener("allure", new AllureSelenide());
-    }
-
     @BeforeEach
     void setUp() {
-        open("http://localhost:8080");
-        DbUtils.clearTables();
+        SelenideLogger.addListener("allure", new AllureSelenide());
+        BrowserSession.open();
     }
 
-    @AfterAll
-    static void tearDownAll() {
+    @AfterEach
+    void tearDown() {
         SelenideLogger.removeListener("allure");
     }
 
     //HappyPath
     //passed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldBuyInPaymentGate() throws SQLException {
+        var since = DbUtils.getCheckpoint();
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
         startPage.buy();
         var paymentPage = new PaymentPage();
         paymentPage.fulfillData(card);
         paymentPage.checkSuccessNotification();
-        assertEquals("APPROVED", DbUtils.getPaymentStatus());
+        assertEquals("APPROVED", DbUtils.getPaymentStatus(since));
     }
 
     //passed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldBuyInPaymentGateWithNameInLatinLetters() throws SQLException {
+        var since = DbUtils.getCheckpoint();
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidNameInLatinLetters(), getValidCvc());
         var startPage = new StartPage();
         startPage.buy();
         var paymentPage = new PaymentPage();
         paymentPage.fulfillData(card);
         paymentPage.checkSuccessNotification();
-        assertEquals("APPROVED", DbUtils.getPaymentStatus());
+        assertEquals("APPROVED", DbUtils.getPaymentStatus(since));
     }
 
     //failed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldNotBuyInPaymentGateWithDeclinedCardNumber() throws SQLException {
+        var since = DbUtils.getCheckpoint();
         Card card = new Card(getDeclinedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
         startPage.buy();
         var paymentPage = new PaymentPage();
         paymentPage.fulfillData(card);
         paymentPage.checkDeclineNotification();
-        assertEquals("DECLINED", DbUtils.getPaymentStatus());
+        assertEquals("DECLINED", DbUtils.getPaymentStatus(since));
     }
 
 
     //CardNumberField
     //failed
     @Test
+    @ResourceLock(DbUtils.PURCHASE_DB)
     void shouldNotBuyInPaymentGateWithInvalidCardNumber() throws SQLException {
         Card card = new Card(getInvalidCardNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -86,6 +98,7 @@ public class PaymentTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithShortCardNumber() {
         Card card = new Card(getShortCardNumber(), getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -97,6 +110,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithEmptyCardNumber() {
         Card card = new Card(null, getCurrentMonth(), getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -110,6 +124,7 @@ public class PaymentTest {
     //MonthField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithInvalidMonth() {
         Card card = new Card(getApprovedNumber(), "00", getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -121,6 +136,7 @@ public class PaymentTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithNonExistingMonth() {
         Card card = new Card(getApprovedNumber(), "13", getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -133,6 +149,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithExpiredMonth() {
         Card card = new Card(getApprovedNumber(), getLastMonth(), getCurrentYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -144,6 +161,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithEmptyMonth() {
         Card card = new Card(getApprovedNumber(), null, getNextYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -157,6 +175,7 @@ public class PaymentTest {
     //YearField
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithExpiredYear() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getLastYear(), getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -168,6 +187,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithEmptyYear() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), null, getValidName(), getValidCvc());
         var startPage = new StartPage();
@@ -181,6 +201,7 @@ public class PaymentTest {
     //NameField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithOnlyName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyName(), getValidCvc());
         var startPage = new StartPage();
@@ -192,6 +213,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithOnlyNameInLatinLetters() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyNameInLatin(), getValidCvc());
         var startPage = new StartPage();
@@ -203,6 +225,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithOnlySurname() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyLastname(), getValidCvc());
         var startPage = new StartPage();
@@ -214,6 +237,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithOnlySurnameInLatinLetters() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getOnlyLastnameInLatin(), getValidCvc());
         var startPage = new StartPage();
@@ -225,6 +249,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithNameAndSurnameWithDash() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), "Иван-Иванов", getValidCvc());
         var startPage = new StartPage();
@@ -236,6 +261,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithTooLongName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getTooLongName(), getValidCvc());
         var startPage = new StartPage();
@@ -247,6 +273,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithDigitsInName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getNameWithNumbers(), getValidCvc());
         var startPage = new StartPage();
@@ -258,6 +285,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithTooShortName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getNameWithOneLetter(), getValidCvc());
         var startPage = new StartPage();
@@ -269,6 +297,7 @@ public class PaymentTest {
 
     //passed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithEmptyName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), null, getValidCvc());
         var startPage = new StartPage();
@@ -280,6 +309,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithSpaceInsteadOfName() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), " ", getValidCvc());
         var startPage = new StartPage();
@@ -293,6 +323,7 @@ public class PaymentTest {
     //CVC/CVVField
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithOneDigitInCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getCvcWithOneDigit());
         var startPage = new StartPage();
@@ -304,6 +335,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithTwoDigitsInCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), getCvcWithTwoDigits());
         var startPage = new StartPage();
@@ -315,6 +347,7 @@ public class PaymentTest {
 
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithEmptyCvc() {
         Card card = new Card(getApprovedNumber(), getCurrentMonth(), getNextYear(), getValidName(), null);
         var startPage = new StartPage();
@@ -328,6 +361,7 @@ public class PaymentTest {
     //AllEmptyFields
     //failed
     @Test
+    @Tag(DriverBackend.DOM_TAG)
     void shouldNotBuyInPaymentGateWithAllEmptyFields() {
         Card card = new Card(null, null, null, null, null);
         var startPage = new StartPage();
@@ -0,0 +1,55 @@
+package ru.netology.domain.tests;
+
+import com.codeborne.selenide.logevents.SelenideLogger;
+import io.qameta.allure.selenide.AllureSelenide;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.netology.domain.gate.GateEmulatorExtension;
+import ru.netology.domain.page.BrowserSession;
+import ru.netology.domain.page.CardFormPage;
+import ru.netology.domain.page.DriverBackend;
+import ru.netology.domain.page.DriverBackendExtension;
+import ru.netology.domain.page.FillMode;
+import ru.netology.domain.page.FormFill;
+import ru.netology.domain.scenario.ValidationScenarios;
+import ru.netology.domain.sut.ShardExtension;
+import ru.netology.domain.sut.SutExtension;
+import ru.netology.domain.timing.StepTimingExtension;
+
+import java.util.stream.Stream;
+
+@Tag(DriverBackend.DOM_TAG)
+@FormFill(FillMode.FAST)
+@ExtendWith({ShardExtension.class, GateEmulatorExtension.class, SutExtension.class, StepTimingExtension.class, DriverBackendExtension.class})
+public class ValidationScenarioTest {
+    private static final String SCENARIOS = "/scenarios/validation.csv";
+
+    @BeforeEach
+    void setUp() {
+        SelenideLogger.addListener("allure", new AllureSelenide());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SelenideLogger.removeListener("allure");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldValidatePaymentForm() {
+        return scenarios(BrowserSession.open().buy());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldValidateCreditForm() {
+        return scenarios(BrowserSession.open().buyInCredit());
+    }
+
+    private Stream<DynamicTest> scenarios(CardFormPage form) {
+        return ValidationScenarios.load(SCENARIOS).stream()
+                .map(scenario -> DynamicTest.dynamicTest(scenario.getName(), () -> {
+                    form.clearFields();
+                    form.fulfillData(scenario.getCard());
+                    form.checkFieldMessage(scenario.getField(), scenario.getMessage());
+                }));
+    }
+}
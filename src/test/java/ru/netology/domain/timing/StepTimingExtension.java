@@ -0,0 +1,55 @@
+package ru.netology.domain.timing;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.netology.domain.sut.Shard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+public class StepTimingExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StepTimingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SuiteReport.class, key -> new SuiteReport(), SuiteReport.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        StepTimings.begin();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        var steps = StepTimings.end();
+        if (!steps.isEmpty()) {
+            Allure.addAttachment("Step timings", "text/csv", StepTimings.toCsv(steps), ".csv");
+        }
+    }
+
+    private static class SuiteReport implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            try {
+                if (Shard.getCount() > 1) {
+                    // Every fork would overwrite the same summary; forks leave raw samples for the stepTimings task to merge.
+                    var fork = System.getProperty("org.gradle.test.worker", Long.toString(ProcessHandle.current().pid()));
+                    var file = Path.of(System.getProperty("timing.samplesDir", "build/step-timings"), "fork-" + fork + ".csv");
+                    StepTimings.writeSamples(file);
+                    System.out.println("Step timing samples written to " + file);
+                } else {
+                    var file = Path.of(System.getProperty("timing.output", "build/step-timings.csv"));
+                    StepTimings.writeSuiteCsv(file);
+                    System.out.println("Step timings written to " + file);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.netology.domain.timing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class StepTimings {
+    private static final ThreadLocal<List<Step>> current = new ThreadLocal<>();
+    private static final Map<String, List<Long>> suite = new ConcurrentHashMap<>();
+
+    public static class Step {
+        private final String name;
+        private final long nanos;
+
+        private Step(String name, long nanos) {
+            this.name = name;
+            this.nanos = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private StepTimings() {
+    }
+
+    public static void begin() {
+        current.set(new ArrayList<>());
+    }
+
+    public static List<Step> end() {
+        var steps = current.get();
+        current.remove();
+        return steps == null ? List.of() : steps;
+    }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void record(String step, long startNanos) {
+        recordNanos(step, System.nanoTime() - startNanos);
+    }
+
+    public static void recordNanos(String step, long nanos) {
+        var steps = current.get();
+        if (steps == null) {
+            return;
+        }
+        steps.add(new Step(step, nanos));
+        suite.computeIfAbsent(step, key -> Collections.synchronizedList(new ArrayList<>())).add(nanos);
+    }
+
+    public static String toCsv(List<Step> steps) {
+        var csv = new StringBuilder("step,ms\n");
+        for (Step step : steps) {
+            csv.append(step.getName()).append(',').append(format(step.getNanos())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static String suiteCsv() {
+        var csv = new StringBuilder("step,count,p50_ms,p95_ms,p99_ms,max_ms,total_ms\n");
+        for (Map.Entry<String, List<Long>> entry : new TreeMap<>(suite).entrySet()) {
+            List<Long> values;
+            synchronized (entry.getValue()) {
+                values = new ArrayList<>(entry.getValue());
+            }
+            Collections.sort(values);
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            csv.append(entry.getKey()).append(',')
+                    .append(values.size()).append(',')
+                    .append(format(percentile(values, 50))).append(',')
+                    .append(format(percentile(values, 95))).append(',')
+                    .append(format(percentile(values, 99))).append(',')
+                    .append(format(values.get(values.size() - 1))).append(',')
+                    .append(format(total)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static void writeSuiteCsv(Path file) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, suiteCsv(), StandardCharsets.UTF_8);
+    }
+
+    public static void writeSamples(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<Long>> entry : suite.entrySet()) {
+                synchronized (entry.getValue()) {
+                    for (long nanos : entry.getValue()) {
+                        writer.write(entry.getKey() + "," + nanos + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    public static void readSamples(Path file) throws IOException {
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int comma = line.lastIndexOf(',');
+            if (comma > 0) {
+                suite.computeIfAbsent(line.substring(0, comma), key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(Long.parseLong(line.substring(comma + 1)));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        var dir = Path.of(System.getProperty("timing.samplesDir", "build/step-timings"));
+        var output = Path.of(System.getProperty("timing.output", "build/step-timings.csv"));
+        if (!Files.isDirectory(dir)) {
+            System.out.println("No step timing samples in " + dir);
+            return;
+        }
+        int forks = 0;
+        try (var files = Files.newDirectoryStream(dir, "*.csv")) {
+            for (Path file : files) {
+                readSamples(file);
+                forks++;
+            }
+        }
+        writeSuiteCsv(output);
+        System.out.println("Step timings of " + forks + " forks written to " + output);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static String format(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}